@@ -0,0 +1,98 @@
+package com.doctusoft.dataops;
+
+import java.util.*;
+import java.util.function.*;
+
+import static com.doctusoft.java.Failsafe.checkArgument;
+import static java.util.Objects.*;
+
+/**
+ * Removes the entries with duplicate keys in a single pass. A key starts a new run of duplicates if the
+ * {@code runStart} predicate accepts it, which is a {@link LookbackFilter} for sorted input, so only the consecutive
+ * duplicates are detected. Either the first or the last entry of each run is passed on. The upstream consumer is
+ * allocated once per instance instead of once per {@link #next(BiConsumer)} call.
+ */
+final class DistinctEntries<K, V> implements Entries<K, V> {
+
+    /**
+     * @return the entries whose keys have not been seen among the last {@code window} distinct keys, which removes all
+     * duplicates of unsorted input if the number of distinct keys does not exceed the {@code window}
+     */
+    static <K, V> DistinctEntries<K, V> withinWindow(Entries<K, V> entries, int window) {
+        checkArgument(window > 0, () -> "Invalid window: " + window);
+        Set<K> recentKeys = Collections.newSetFromMap(new LinkedHashMap<K, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest) {
+                return size() > window;
+            }
+        });
+        return new DistinctEntries<>(entries, recentKeys::add, false);
+    }
+
+    private final Entries<K, V> entries;
+    private final Predicate<? super K> runStart;
+    private final boolean keepLast;
+    private final BiConsumer<K, V> upstream = this::accept;
+
+    private BiConsumer<K, V> action;
+    private boolean emitted;
+
+    private boolean pending;
+    private K pendingKey;
+    private V pendingValue;
+
+    DistinctEntries(Entries<K, V> entries, Predicate<? super K> runStart, boolean keepLast) {
+        this.entries = requireNonNull(entries, "entries");
+        this.runStart = requireNonNull(runStart, "runStart");
+        this.keepLast = keepLast;
+    }
+
+    public boolean next(BiConsumer<K, V> action) {
+        requireNonNull(action);
+        this.action = action;
+        emitted = false;
+        try {
+            while (!emitted && entries.next(upstream)) {
+                // nothing more to do here
+            }
+            if (!emitted && pending) {
+                emitPending();
+            }
+        } finally {
+            this.action = null;
+        }
+        return emitted;
+    }
+
+    private void accept(K key, V value) {
+        boolean startsRun = runStart.test(key);
+        if (!keepLast) {
+            if (startsRun) {
+                emitted = true;
+                action.accept(key, value);
+            }
+            return;
+        }
+        boolean emitting = startsRun && pending;
+        K lastKey = pendingKey;
+        V lastValue = pendingValue;
+        pending = true;
+        pendingKey = key;
+        pendingValue = value;
+        if (emitting) {
+            emitted = true;
+            action.accept(lastKey, lastValue);
+        }
+    }
+
+    private void emitPending() {
+        K lastKey = pendingKey;
+        V lastValue = pendingValue;
+        pending = false;
+        pendingKey = null;
+        pendingValue = null;
+        emitted = true;
+        action.accept(lastKey, lastValue);
+    }
+
+}
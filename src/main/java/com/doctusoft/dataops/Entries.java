@@ -78,6 +78,43 @@ public interface Entries<K, V> {
         return new FilteredEntries<>(this, FilteredEntries.Always.TRUE, filter);
     }
 
+    /**
+     * @return the first entry of each run of consecutive equal keys, thus the entries with distinct keys if the entries
+     * are sorted by key
+     */
+    default Entries<K, V> distinctKeys() {
+        return new DistinctEntries<>(this, LookbackFilter.notEquals(), false);
+    }
+
+    /**
+     * @return the first entry of each run of consecutive keys equal according to the {@code comparator}
+     */
+    default Entries<K, V> distinctKeys(Comparator<? super K> comparator) {
+        return new DistinctEntries<>(this, LookbackFilter.noDuplicates(comparator), false);
+    }
+
+    /**
+     * @return the last entry of each run of consecutive equal keys
+     */
+    default Entries<K, V> distinctKeysKeepLast() {
+        return new DistinctEntries<>(this, LookbackFilter.notEquals(), true);
+    }
+
+    /**
+     * @return the last entry of each run of consecutive keys equal according to the {@code comparator}
+     */
+    default Entries<K, V> distinctKeysKeepLast(Comparator<? super K> comparator) {
+        return new DistinctEntries<>(this, LookbackFilter.noDuplicates(comparator), true);
+    }
+
+    /**
+     * @return the entries of unsorted input with keys not seen among the last {@code window} distinct keys, which uses
+     * memory proportional to the {@code window} only
+     */
+    default Entries<K, V> distinctKeysWithin(int window) {
+        return DistinctEntries.withinWindow(this, window);
+    }
+
     default <T> Entries<T, V> transformKeys(Function<? super K, ? extends T> keyFun) {
         requireNonNull(keyFun);
         return new TransformedEntries<>(this, keyFun, Function.identity());
@@ -0,0 +1,247 @@
+package com.doctusoft.dataops;
+
+import com.doctusoft.annotation.Beta;
+import com.doctusoft.math.*;
+
+import java.util.*;
+import java.util.function.*;
+
+import static com.doctusoft.java.Failsafe.checkArgument;
+import static java.util.Objects.*;
+
+/**
+ * Immutable index of values keyed by {@link Interval} instances answering stabbing queries (all intervals containing a
+ * point) and overlap queries (all intervals having a common element with another interval) in {@code O(log n + k)}
+ * time instead of a linear scan calling {@link Interval#contains(Comparable)} on every interval.
+ *
+ * <p>The intervals are sorted by their lower bound and stored in an implicit balanced binary search tree where every
+ * subtree is augmented with its interval ending last, so subtrees not reaching the queried point are skipped. Matches are
+ * always reported ordered by their lower bound, intervals with equal lower bounds in the order of the source entries.</p>
+ *
+ * <p>Supported keys are {@link ClosedRange}, {@link LeftClosedRange} and their primitive specializations, empty
+ * intervals are ignored.</p>
+ *
+ * @param <C> the type argument of the intervals' domain
+ * @param <V> the type of the indexed values
+ * @see LongIntervalIndex
+ */
+@Beta
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public final class IntervalIndex<C extends Comparable, V> {
+    
+    public static <C extends Comparable, V> IntervalIndex<C, V> fromEntries(
+        Entries<? extends Interval<C>, ? extends V> entries) {
+        return new IntervalIndex<>(sortedNodesOf(entries));
+    }
+    
+    private final Node<C, V>[] nodes;
+    
+    /**
+     * {@code maxEnd[i]} is the interval ending last in the subtree rooted at {@code i}.
+     */
+    private final Node<C, V>[] maxEnd;
+    
+    private IntervalIndex(Node<C, V>[] nodes) {
+        this.nodes = nodes;
+        this.maxEnd = new Node[nodes.length];
+        computeMaxEnd(0, nodes.length);
+    }
+    
+    private Node<C, V> computeMaxEnd(int from, int to) {
+        if (from >= to) return null;
+        int mid = (from + to) >>> 1;
+        Node<C, V> max = nodes[mid];
+        Node<C, V> left = computeMaxEnd(from, mid);
+        if (left != null && left.compareEnd(max) > 0) max = left;
+        Node<C, V> right = computeMaxEnd(mid + 1, to);
+        if (right != null && right.compareEnd(max) > 0) max = right;
+        maxEnd[mid] = max;
+        return max;
+    }
+    
+    /**
+     * @return the number of indexed intervals
+     */
+    public int size() {
+        return nodes.length;
+    }
+    
+    /**
+     * Performs the {@code action} for all indexed intervals containing the {@code point} ordered by their lower bound.
+     */
+    public void forEachContaining(C point, BiConsumer<? super Interval<C>, ? super V> action) {
+        requireNonNull(point, "point");
+        requireNonNull(action, "action");
+        search(0, nodes.length, point, point, true, node -> {
+            action.accept(node.key, node.value);
+            return true;
+        });
+    }
+    
+    /**
+     * @return the values of all indexed intervals containing the {@code point} ordered by their lower bound
+     */
+    public List<V> findAllContaining(C point) {
+        List<V> result = new ArrayList<>();
+        forEachContaining(point, (k, v) -> result.add(v));
+        return result;
+    }
+    
+    /**
+     * @return the value of the interval with the lowest lower bound containing the {@code point}
+     */
+    public Optional<V> findFirstContaining(C point) {
+        requireNonNull(point, "point");
+        Object[] found = new Object[1];
+        boolean notFound = search(0, nodes.length, point, point, true, node -> {
+            found[0] = node.value;
+            return false;
+        });
+        return notFound ? Optional.empty() : Optional.ofNullable((V) found[0]);
+    }
+    
+    /**
+     * Performs the {@code action} for all indexed intervals having at least one common element with the {@code range}
+     * ordered by their lower bound.
+     */
+    public void forEachOverlapping(Interval<C> range, BiConsumer<? super Interval<C>, ? super V> action) {
+        requireNonNull(action, "action");
+        if (range.isEmpty()) return;
+        Node<C, V> query = Node.of(range, null);
+        search(0, nodes.length, query.lowerBound, query.upperBound, query.upperClosed, node -> {
+            action.accept(node.key, node.value);
+            return true;
+        });
+    }
+    
+    /**
+     * @return the values of all indexed intervals having at least one common element with the {@code range} ordered by
+     * their lower bound
+     */
+    public List<V> findAllOverlapping(Interval<C> range) {
+        List<V> result = new ArrayList<>();
+        forEachOverlapping(range, (k, v) -> result.add(v));
+        return result;
+    }
+    
+    /**
+     * Performs the {@code action} for every point of {@code sortedPoints} paired with the value of every indexed
+     * interval containing it. Instead of a tree query per point the points are swept together with the intervals sorted
+     * by their lower bound, so the cost is {@code O((n + m) log n + k)}. The values paired with the same point are
+     * reported in no particular order.
+     *
+     * @throws IllegalArgumentException if the points are not in ascending order
+     */
+    public void forEachContainingSorted(Iterator<? extends C> sortedPoints, BiConsumer<? super C, ? super V> action) {
+        requireNonNull(action, "action");
+        PriorityQueue<Node<C, V>> active = new PriorityQueue<>(Node::compareEnd);
+        int next = 0;
+        C previous = null;
+        while (sortedPoints.hasNext()) {
+            C point = requireNonNull(sortedPoints.next(), "point");
+            C last = previous;
+            checkArgument(last == null || last.compareTo(point) <= 0, () -> "Points are not sorted: " + last + " > " + point);
+            for (; next < nodes.length && nodes[next].lowerBound.compareTo(point) <= 0; ++next) {
+                active.add(nodes[next]);
+            }
+            while (!active.isEmpty() && !active.peek().endsAtOrAfter(point)) {
+                active.poll();
+            }
+            for (Node<C, V> node : active) {
+                action.accept(point, node.value);
+            }
+            previous = point;
+        }
+    }
+    
+    /**
+     * In-order traversal of the {@code [from, to)} subtree visiting the intervals overlapping the
+     * {@code [lowerBound; upperBound]} or {@code [lowerBound; upperBound)} query range.
+     *
+     * @return {@code false} if the visitor stopped the traversal
+     */
+    private boolean search(int from, int to, C lowerBound, C upperBound, boolean upperClosed,
+        Predicate<Node<C, V>> visitor) {
+        if (from >= to) return true;
+        int mid = (from + to) >>> 1;
+        if (!maxEnd[mid].endsAtOrAfter(lowerBound)) return true;
+        if (!search(from, mid, lowerBound, upperBound, upperClosed, visitor)) return false;
+        Node<C, V> node = nodes[mid];
+        int cmp = node.lowerBound.compareTo(upperBound);
+        if (cmp > 0 || (cmp == 0 && !upperClosed)) return true;
+        if (node.endsAtOrAfter(lowerBound) && !visitor.test(node)) return false;
+        return search(mid + 1, to, lowerBound, upperBound, upperClosed, visitor);
+    }
+    
+    static <C extends Comparable, V> Node<C, V>[] sortedNodesOf(Entries<? extends Interval<C>, ? extends V> entries) {
+        List<Node<C, V>> nodes = new ArrayList<>();
+        requireNonNull(entries, "entries").forEach((k, v) -> {
+            if (!requireNonNull(k, "interval").isEmpty()) {
+                nodes.add(Node.of(k, v));
+            }
+        });
+        Node<C, V>[] result = nodes.toArray(new Node[nodes.size()]);
+        Arrays.sort(result, (n1, n2) -> n1.lowerBound.compareTo(n2.lowerBound));
+        return result;
+    }
+    
+    static final class Node<C extends Comparable, V> {
+    
+        static <C extends Comparable, V> Node<C, V> of(Interval<C> key, V value) {
+            if (key instanceof ClosedRange) {
+                ClosedRange<C> range = (ClosedRange<C>) key;
+                return new Node<>(key, value, range.getLowerBound(), range.getUpperBound(), true);
+            }
+            if (key instanceof LeftClosedRange) {
+                LeftClosedRange<C> range = (LeftClosedRange<C>) key;
+                return new Node<>(key, value, range.getLowerBound(), range.getUpperBound(), false);
+            }
+            if (key instanceof IntClosedRange) {
+                IntClosedRange range = (IntClosedRange) key;
+                return new Node<>(key, value, (C) (Integer) range.getLowerBound(), (C) (Integer) range.getUpperBound(), true);
+            }
+            if (key instanceof IntLeftClosedRange) {
+                IntLeftClosedRange range = (IntLeftClosedRange) key;
+                return new Node<>(key, value, (C) (Integer) range.getLowerBound(), (C) (Integer) range.getUpperBound(), false);
+            }
+            if (key instanceof LongClosedRange) {
+                LongClosedRange range = (LongClosedRange) key;
+                return new Node<>(key, value, (C) (Long) range.getLowerBound(), (C) (Long) range.getUpperBound(), true);
+            }
+            if (key instanceof LongLeftClosedRange) {
+                LongLeftClosedRange range = (LongLeftClosedRange) key;
+                return new Node<>(key, value, (C) (Long) range.getLowerBound(), (C) (Long) range.getUpperBound(), false);
+            }
+            throw new IllegalArgumentException("Unsupported interval: " + key);
+        }
+    
+        final Interval<C> key;
+        final V value;
+        final C lowerBound;
+        final C upperBound;
+        final boolean upperClosed;
+    
+        private Node(Interval<C> key, V value, C lowerBound, C upperBound, boolean upperClosed) {
+            this.key = key;
+            this.value = value;
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+            this.upperClosed = upperClosed;
+        }
+    
+        /**
+         * @return {@code true} if the interval contains {@code value} or any value greater than it
+         */
+        boolean endsAtOrAfter(C value) {
+            int cmp = upperBound.compareTo(value);
+            return cmp > 0 || (cmp == 0 && upperClosed);
+        }
+    
+        int compareEnd(Node<C, ?> other) {
+            int cmp = upperBound.compareTo(other.upperBound);
+            return (cmp != 0) ? cmp : Boolean.compare(upperClosed, other.upperClosed);
+        }
+    
+    }
+    
+}
@@ -0,0 +1,213 @@
+package com.doctusoft.dataops;
+
+import com.doctusoft.annotation.Beta;
+import com.doctusoft.math.*;
+
+import java.util.*;
+import java.util.function.*;
+
+import static com.doctusoft.java.Failsafe.checkArgument;
+import static java.util.Objects.*;
+
+/**
+ * Primitive specialization of {@link IntervalIndex} for intervals of {@code long} values, e.g. validity windows of epoch
+ * millis. The bounds are kept in primitive arrays with left-closed intervals converted to closed ones, so queries compare
+ * plain {@code long} values without boxing.
+ *
+ * @param <V> the type of the indexed values
+ */
+@Beta
+public final class LongIntervalIndex<V> {
+    
+    public static <V> LongIntervalIndex<V> fromEntries(Entries<? extends Interval<Long>, ? extends V> entries) {
+        return new LongIntervalIndex<>(IntervalIndex.sortedNodesOf(entries));
+    }
+    
+    private final long[] lowerBounds;
+    
+    /**
+     * Inclusive upper bounds.
+     */
+    private final long[] upperBounds;
+    
+    private final Object[] values;
+    
+    /**
+     * {@code maxUpperBounds[i]} is the greatest inclusive upper bound in the subtree rooted at {@code i}.
+     */
+    private final long[] maxUpperBounds;
+    
+    private LongIntervalIndex(IntervalIndex.Node<Long, V>[] nodes) {
+        int size = nodes.length;
+        this.lowerBounds = new long[size];
+        this.upperBounds = new long[size];
+        this.values = new Object[size];
+        this.maxUpperBounds = new long[size];
+        for (int i = 0; i < size; ++i) {
+            IntervalIndex.Node<Long, V> node = nodes[i];
+            lowerBounds[i] = node.lowerBound;
+            upperBounds[i] = node.upperClosed ? node.upperBound : node.upperBound - 1L;
+            values[i] = node.value;
+        }
+        computeMaxUpperBounds(0, size);
+    }
+    
+    private long computeMaxUpperBounds(int from, int to) {
+        if (from >= to) return Long.MIN_VALUE;
+        int mid = (from + to) >>> 1;
+        long max = Math.max(upperBounds[mid], Math.max(computeMaxUpperBounds(from, mid), computeMaxUpperBounds(mid + 1, to)));
+        maxUpperBounds[mid] = max;
+        return max;
+    }
+    
+    /**
+     * @return the number of indexed intervals
+     */
+    public int size() {
+        return values.length;
+    }
+    
+    /**
+     * Performs the {@code action} for the values of all indexed intervals containing the {@code point} ordered by their
+     * lower bound.
+     */
+    public void forEachContaining(long point, Consumer<? super V> action) {
+        requireNonNull(action, "action");
+        search(0, values.length, point, point, i -> {
+            action.accept(valueAt(i));
+            return true;
+        });
+    }
+    
+    /**
+     * @return the values of all indexed intervals containing the {@code point} ordered by their lower bound
+     */
+    public List<V> findAllContaining(long point) {
+        List<V> result = new ArrayList<>();
+        forEachContaining(point, result::add);
+        return result;
+    }
+    
+    /**
+     * @return the value of the interval with the lowest lower bound containing the {@code point}
+     */
+    public Optional<V> findFirstContaining(long point) {
+        int[] found = { -1 };
+        search(0, values.length, point, point, i -> {
+            found[0] = i;
+            return false;
+        });
+        return (found[0] < 0) ? Optional.empty() : Optional.ofNullable(valueAt(found[0]));
+    }
+    
+    /**
+     * Performs the {@code action} for the values of all indexed intervals having at least one common element with the
+     * {@code [lowerBound; upperBound]} closed range ordered by their lower bound.
+     */
+    public void forEachOverlapping(long lowerBound, long upperBound, Consumer<? super V> action) {
+        requireNonNull(action, "action");
+        checkArgument(lowerBound <= upperBound, () -> "Invalid ClosedRange: " + lowerBound + " > " + upperBound);
+        search(0, values.length, lowerBound, upperBound, i -> {
+            action.accept(valueAt(i));
+            return true;
+        });
+    }
+    
+    /**
+     * @return the values of all indexed intervals having at least one common element with the {@code range} ordered by
+     * their lower bound
+     */
+    public List<V> findAllOverlapping(Interval<Long> range) {
+        List<V> result = new ArrayList<>();
+        if (range.isEmpty()) return result;
+        IntervalIndex.Node<Long, V> query = IntervalIndex.Node.of(range, null);
+        long upperBound = query.upperClosed ? query.upperBound : query.upperBound - 1L;
+        forEachOverlapping(query.lowerBound, upperBound, result::add);
+        return result;
+    }
+    
+    /**
+     * Performs the {@code action} for every point of {@code sortedPoints} paired with the value of every indexed
+     * interval containing it. The points are swept together with the intervals sorted by their lower bound, so the cost
+     * is {@code O((n + m) log n + k)}. The values paired with the same point are reported in no particular order.
+     *
+     * @throws IllegalArgumentException if the points are not in ascending order
+     */
+    public void forEachContainingSorted(PrimitiveIterator.OfLong sortedPoints, ObjLongConsumer<? super V> action) {
+        requireNonNull(action, "action");
+        int[] heap = new int[values.length];
+        int active = 0;
+        int next = 0;
+        boolean first = true;
+        long previous = Long.MIN_VALUE;
+        while (sortedPoints.hasNext()) {
+            long point = sortedPoints.nextLong();
+            long last = previous;
+            checkArgument(first || last <= point, () -> "Points are not sorted: " + last + " > " + point);
+            for (; next < values.length && lowerBounds[next] <= point; ++next) {
+                active = push(heap, active, next);
+            }
+            while (active > 0 && upperBounds[heap[0]] < point) {
+                active = pop(heap, active);
+            }
+            for (int i = 0; i < active; ++i) {
+                action.accept(valueAt(heap[i]), point);
+            }
+            previous = point;
+            first = false;
+        }
+    }
+    
+    /**
+     * Equivalent to {@code forEachContainingSorted(Arrays.stream(sortedPoints).iterator(), action)}.
+     */
+    public void forEachContainingSorted(long[] sortedPoints, ObjLongConsumer<? super V> action) {
+        forEachContainingSorted(Arrays.stream(sortedPoints).iterator(), action);
+    }
+    
+    /**
+     * Min-heap of interval indexes ordered by their upper bound.
+     */
+    private int push(int[] heap, int size, int index) {
+        int i = size;
+        long key = upperBounds[index];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (upperBounds[heap[parent]] <= key) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = index;
+        return size + 1;
+    }
+    
+    private int pop(int[] heap, int size) {
+        int last = heap[--size];
+        long key = upperBounds[last];
+        int i = 0;
+        for (int child = 1; child < size; child = 2 * i + 1) {
+            if (child + 1 < size && upperBounds[heap[child + 1]] < upperBounds[heap[child]]) ++child;
+            if (key <= upperBounds[heap[child]]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return size;
+    }
+    
+    private boolean search(int from, int to, long lowerBound, long upperBound, IntPredicate visitor) {
+        if (from >= to) return true;
+        int mid = (from + to) >>> 1;
+        if (maxUpperBounds[mid] < lowerBound) return true;
+        if (!search(from, mid, lowerBound, upperBound, visitor)) return false;
+        if (lowerBounds[mid] > upperBound) return true;
+        if (upperBounds[mid] >= lowerBound && !visitor.test(mid)) return false;
+        return search(mid + 1, to, lowerBound, upperBound, visitor);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return (V) values[index];
+    }
+    
+}
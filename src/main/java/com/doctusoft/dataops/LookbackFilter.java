@@ -111,11 +111,11 @@ public abstract class LookbackFilter<T> implements Predicate<T> {
     
     private static final class Ordered<T> extends LookbackFilter<T> {
         
-        private final Predicate<Integer> validPredicate;
+        private final IntPredicate validPredicate;
         
         private final Comparator<? super T> comparator;
         
-        private Ordered(Predicate<Integer> validPredicate, Comparator<? super T> comparator) {
+        private Ordered(IntPredicate validPredicate, Comparator<? super T> comparator) {
             this.comparator = requireNonNull(comparator);
             this.validPredicate = requireNonNull(validPredicate);
         }
@@ -137,26 +137,26 @@ public abstract class LookbackFilter<T> implements Predicate<T> {
         
     }
     
-    private static enum ValidPredicates implements Predicate<Integer> {
+    private static enum ValidPredicates implements IntPredicate {
         
         NO_DUPLICATES {
             @Override
-            public boolean test(Integer compareResult) {
-                return compareResult.intValue() != 0;
+            public boolean test(int compareResult) {
+                return compareResult != 0;
             }
         },
         
         MONOTONE {
             @Override
-            public boolean test(Integer compareResult) {
-                return compareResult.intValue() <= 0;
+            public boolean test(int compareResult) {
+                return compareResult <= 0;
             }
         },
         
         STRICTLY_MONOTONE {
             @Override
-            public boolean test(Integer compareResult) {
-                return compareResult.intValue() < 0;
+            public boolean test(int compareResult) {
+                return compareResult < 0;
             }
         };
     }
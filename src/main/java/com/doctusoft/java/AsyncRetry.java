@@ -0,0 +1,234 @@
+package com.doctusoft.java;
+
+import com.doctusoft.annotation.Beta;
+import com.doctusoft.math.ExponentialDelays;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+import java.util.logging.*;
+import java.util.stream.*;
+
+import static java.util.Objects.*;
+
+/**
+ * Non-blocking counterpart of {@link Retry}: an AsyncRetry instance wraps a {@link Callable} object and schedules its
+ * execution on a {@link ScheduledExecutorService} retrying upon failure after the given delays (in milliseconds). No
+ * thread is blocked while waiting between the attempts, the outcome is provided by the {@link CompletableFuture}
+ * returned by {@link #start()}.
+ * <p>The same restrictions apply to the provided {@link LongStream} of delays as in case of {@link Retry}: it must not
+ * be consumed outside of the AsyncRetry instance, and the AsyncRetry instance can be started exclusively once.</p>
+ * <p>Cancelling the returned {@link CompletableFuture} cancels the pending scheduled attempt (if any) and no further
+ * attempts are made. An attempt throwing {@link CancellationException} is never retried, the returned future completes
+ * with the same exception.</p>
+ * <p>Execution details such as failures and retry attempts are reported to a {@link RetryListener}. By default they are
+ * logged using {@link Logger java.util.logging} by a {@link LoggingRetryListener}.</p>
+ */
+@Beta
+public class AsyncRetry<T> {
+
+    private static final RetryListener DEFAULT_LISTENER =
+        new LoggingRetryListener(Logger.getLogger(AsyncRetry.class.getName()));
+
+    /**
+     * Schedules a {@link Callable} task according to the provided exponential delays (in milliseconds).
+     *
+     * @param task      the callable task
+     * @param delays    builder for a delay values stream (in milliseconds)
+     * @param scheduler the executor service to schedule the attempts on
+     * @param <T>       the return value of the callable task
+     * @return a future completed by the first successful execution of the callable task or exceptionally upon permanent
+     * failure (after retry attempts are exhausted)
+     */
+    public static <T> CompletableFuture<T> callWithDelays(Callable<T> task, ExponentialDelays.OfLong delays,
+        ScheduledExecutorService scheduler) {
+        return new AsyncRetry<>(task, delays.build(), scheduler).start();
+    }
+
+    /**
+     * Schedules a {@link Callable} task according to the default exponential back-off mechanism starting with a default
+     * 1s delay after the first attempt fails with the provided maximum number of retries.
+     *
+     * @param maxRetries the maximum number of retries
+     * @param task       the callable task
+     * @param scheduler  the executor service to schedule the attempts on
+     * @param <T>        the return value of the callable task
+     * @return a future completed by the first successful execution of the callable task or exceptionally upon permanent
+     * failure (after retry attempts are exhausted)
+     */
+    public static <T> CompletableFuture<T> callWithExponentialBackOff(int maxRetries, Callable<T> task,
+        ScheduledExecutorService scheduler) {
+        return callWithDelays(task, ExponentialDelays
+            .longsFrom(1000L)
+            .limitMaxAttempts(maxRetries + 1), scheduler);
+    }
+
+    /**
+     * Schedules a {@link Runnable} task according to the provided exponential delays (in milliseconds).
+     *
+     * @param runnable  the runnable task
+     * @param delays    builder for a delay values stream (in milliseconds)
+     * @param scheduler the executor service to schedule the attempts on
+     * @return a future completed upon the first successful execution of the runnable task or exceptionally upon
+     * permanent failure (after retry attempts are exhausted)
+     */
+    public static CompletableFuture<Void> runWithDelays(Runnable runnable, ExponentialDelays.OfLong delays,
+        ScheduledExecutorService scheduler) {
+        return callWithDelays(Executors.callable(runnable, (Void) null), delays, scheduler);
+    }
+
+    /**
+     * Schedules a {@link Runnable} task according to the default exponential back-off mechanism starting with a
+     * default 1s delay after the first attempt fails with the provided maximum number of retries.
+     *
+     * @param maxRetries the maximum number of retries
+     * @param runnable   the runnable task
+     * @param scheduler  the executor service to schedule the attempts on
+     * @return a future completed upon the first successful execution of the runnable task or exceptionally upon
+     * permanent failure (after retry attempts are exhausted)
+     */
+    public static CompletableFuture<Void> runWithExponentialBackOff(int maxRetries, Runnable runnable,
+        ScheduledExecutorService scheduler) {
+        return callWithExponentialBackOff(maxRetries, Executors.callable(runnable, (Void) null), scheduler);
+    }
+
+    private final Callable<T> task;
+
+    private final Spliterator.OfLong delays;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final RetryGuard guard;
+
+    private final RetryListener listener;
+
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile Future<?> pendingAttempt;
+
+    private volatile Exception lastFailure;
+
+    private volatile int retryCount = 0;
+
+    private volatile long startedAt;
+
+    public AsyncRetry(Callable<T> task, LongStream delays, ScheduledExecutorService scheduler) {
+        this(task, delays, scheduler, RetryGuard.NONE);
+    }
+
+    /**
+     * @param guard the guard to consult before every attempt, the future returned by {@link #start()} completes
+     *              exceptionally with {@link RejectedExecutionException} if the first attempt is not permitted
+     */
+    public AsyncRetry(Callable<T> task, LongStream delays, ScheduledExecutorService scheduler, RetryGuard guard) {
+        this(task, delays, scheduler, guard, DEFAULT_LISTENER);
+    }
+
+    /**
+     * @param guard    the guard to consult before every attempt
+     * @param listener the listener to report the execution details to, use {@link RetryListener#NONE} to ignore them
+     */
+    public AsyncRetry(Callable<T> task, LongStream delays, ScheduledExecutorService scheduler, RetryGuard guard,
+        RetryListener listener) {
+        this.task = requireNonNull(task, "task");
+        this.delays = requireNonNull(delays, "delays").spliterator();
+        this.scheduler = requireNonNull(scheduler, "scheduler");
+        this.guard = requireNonNull(guard, "guard");
+        this.listener = requireNonNull(listener, "listener");
+    }
+
+    /**
+     * Schedules the first attempt for immediate execution.
+     *
+     * @return the future providing the outcome of the retry operation
+     * @throws IllegalStateException if the instance has already been started
+     */
+    public CompletableFuture<T> start() {
+        Failsafe.checkState(started.compareAndSet(false, true), "AsyncRetry already started");
+        startedAt = System.nanoTime();
+        result.whenComplete((value, failure) -> {
+            if (result.isCancelled()) {
+                cancelPendingAttempt();
+            }
+        });
+        schedule(0L);
+        return result;
+    }
+
+    /**
+     * @return the number of attempts started so far
+     */
+    public int getAttemptCount() {
+        return retryCount;
+    }
+
+    private void attempt() {
+        if (result.isDone()) {
+            return;
+        }
+        if (!guard.tryAcquire(retryCount > 0)) {
+            giveUp(retryCount > 0 ? lastFailure : new RejectedExecutionException("Rejected by " + guard));
+            return;
+        }
+        long attemptStarted = System.nanoTime();
+        try {
+            listener.onAttempt(++retryCount);
+            T value = task.call();
+            guard.onSuccess();
+            listener.onSuccess(retryCount, System.nanoTime() - attemptStarted);
+            result.complete(value);
+        } catch (CancellationException e) {
+            guard.release(retryCount > 1);
+            giveUp(e);
+        } catch (Error e) {
+            // not retried, but the guard and the listener must learn that the operation is over
+            guard.onFailure();
+            listener.onGiveUp(retryCount, System.nanoTime() - startedAt, new ExecutionException(e));
+            result.completeExceptionally(e);
+        } catch (Exception e) {
+            guard.onFailure();
+            listener.onFailure(retryCount, System.nanoTime() - attemptStarted, e);
+            if (result.isDone()) {
+                return;
+            }
+            lastFailure = e;
+            if (!delays.tryAdvance((LongConsumer) this::scheduleRetry)) {
+                giveUp(e);
+            }
+        }
+    }
+
+    private void giveUp(Exception reason) {
+        listener.onGiveUp(retryCount, System.nanoTime() - startedAt, reason);
+        result.completeExceptionally(reason);
+    }
+
+    private void scheduleRetry(long timeToWait) {
+        listener.onDelay(retryCount, timeToWait);
+        schedule(timeToWait);
+    }
+
+    private void schedule(long timeToWait) {
+        try {
+            pendingAttempt = scheduler.schedule(this::attempt, timeToWait, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            giveUp(e);
+            return;
+        }
+        if (result.isCancelled()) {
+            // the cancellation might have raced with the scheduling
+            cancelPendingAttempt();
+        }
+    }
+
+    private void cancelPendingAttempt() {
+        Future<?> pending = pendingAttempt;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+    }
+
+}
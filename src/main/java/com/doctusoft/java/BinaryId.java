@@ -0,0 +1,213 @@
+package com.doctusoft.java;
+
+import com.doctusoft.annotation.Beta;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.*;
+
+import static java.util.Objects.*;
+
+/**
+ * Compact binary form of the 22-char {@link RandomId} identifiers: an immutable value holding the 128bit number in
+ * two longs, taking 32 bytes instead of about 64 bytes of the equivalent {@link String}.
+ * <p>The {@link #compareTo(BinaryId) natural ordering} is consistent with the ordering of the {@link #toString()
+ * encoded strings}, so replacing String keys with {@link BinaryId} keys in sorted data structures does not change the
+ * order of the entries. The {@link #NUMERIC_ORDER} comparator orders by the unsigned 128bit numeric value instead,
+ * which is the generation order of the {@link RandomId#monotonic() monotonic} IDs.</p>
+ */
+@Beta
+public final class BinaryId implements Comparable<BinaryId>, Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Orders the IDs by their unsigned 128bit numeric value.
+     */
+    public static final Comparator<BinaryId> NUMERIC_ORDER = (a, b) -> {
+        int result = Long.compareUnsigned(a.high, b.high);
+        return result != 0 ? result : Long.compareUnsigned(a.low, b.low);
+    };
+    
+    private static final String DIGITS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    
+    private static final byte[] VALUES = valuesOf(DIGITS);
+    
+    private static final byte[] SORTABLE_VALUES =
+        valuesOf("-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz");
+    
+    private final long high;
+    
+    private final long low;
+    
+    private BinaryId(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+    
+    public static BinaryId of(long high, long low) {
+        return new BinaryId(high, low);
+    }
+    
+    /**
+     * @param id array containing the high and low 64 bits as its first two elements (see {@link RandomId#sequential(long[])})
+     */
+    public static BinaryId of(long[] id) {
+        Failsafe.checkArgument(id.length >= 2, () -> "id.length: " + id.length);
+        return new BinaryId(id[0], id[1]);
+    }
+    
+    /**
+     * Parses the 22-char encoded form of a {@link RandomId}.
+     *
+     * @throws IllegalArgumentException if the input is not a valid encoded identifier
+     */
+    public static BinaryId parse(CharSequence input) {
+        Failsafe.checkArgument(input.length() == RandomId.LENGTH, () -> "Failed to parse ID: " + input);
+        return parse(input, 0);
+    }
+    
+    /**
+     * Parses the 22-char encoded form of a {@link RandomId} starting at {@code offset} within a larger input.
+     *
+     * @throws IllegalArgumentException if the input does not contain a valid encoded identifier at {@code offset}
+     */
+    public static BinaryId parse(CharSequence input, int offset) {
+        Failsafe.checkArgument(offset >= 0 && offset <= input.length() - RandomId.LENGTH,
+            () -> "offset: " + offset);
+        return parse(input, offset, VALUES);
+    }
+    
+    /**
+     * Parses the 22-char {@link RandomId#toSortableString(long, long) sortable form} of an identifier, e.g. a
+     * {@link RandomId#monotonicSortable()} ID.
+     *
+     * @throws IllegalArgumentException if the input is not a valid sortable identifier
+     */
+    public static BinaryId parseSortable(CharSequence input) {
+        Failsafe.checkArgument(input.length() == RandomId.LENGTH, () -> "Failed to parse ID: " + input);
+        return parse(input, 0, SORTABLE_VALUES);
+    }
+    
+    private static BinaryId parse(CharSequence input, int offset, byte[] values) {
+        long high = 0L;
+        for (int i = 0; i < 10; ++i) {
+            high = high << 6 | digitAt(input, offset + i, values);
+        }
+        int middle = digitAt(input, offset + 10, values);
+        high = high << 4 | middle >>> 2;
+        long low = middle & 3L;
+        for (int i = 11; i < 21; ++i) {
+            low = low << 6 | digitAt(input, offset + i, values);
+        }
+        int last = digitAt(input, offset + 21, values);
+        Failsafe.checkArgument((last & 15) == 0, () -> "Failed to parse ID: " + input);
+        low = low << 2 | last >>> 4;
+        return new BinaryId(high, low);
+    }
+    
+    /**
+     * Returns a key function parsing the identifiers of the values, suitable for indexing values by their binary
+     * IDs, e.g. with {@code Entries.indexValues(values, BinaryId.keyOf(Order::getId))}.
+     */
+    public static <T> Function<T, BinaryId> keyOf(Function<? super T, ? extends CharSequence> idGetter) {
+        requireNonNull(idGetter, "idGetter");
+        return value -> parse(idGetter.apply(value));
+    }
+    
+    public long getHigh() {
+        return high;
+    }
+    
+    public long getLow() {
+        return low;
+    }
+    
+    /**
+     * Appends the 22-char encoded form to {@code target}.
+     *
+     * @return the {@code target} builder
+     */
+    public StringBuilder appendTo(StringBuilder target) {
+        return RandomId.append(high, low, target);
+    }
+    
+    /**
+     * Compares the IDs consistently with the lexicographical order of their encoded forms: the first differing 6bit
+     * digit is looked up using bit operations and the characters it's encoded to are compared.
+     */
+    public int compareTo(BinaryId other) {
+        long diff = high ^ other.high;
+        int digit;
+        if (diff != 0L) {
+            digit = Math.min(Long.numberOfLeadingZeros(diff) / 6, 10);
+        } else {
+            diff = low ^ other.low;
+            if (diff == 0L) {
+                return 0;
+            }
+            int zeros = Long.numberOfLeadingZeros(diff);
+            digit = zeros < 2 ? 10 : 11 + (zeros - 2) / 6;
+        }
+        return DIGITS.charAt(digitAt(digit)) - DIGITS.charAt(other.digitAt(digit));
+    }
+    
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BinaryId)) return false;
+        BinaryId other = (BinaryId) o;
+        return high == other.high && low == other.low;
+    }
+    
+    /**
+     * The hash code is computed by mixing all bits of both halves, so the time component of sequential IDs does not
+     * cluster the hash values.
+     */
+    public int hashCode() {
+        long h = high * 0x9E3779B97F4A7C15L + low;
+        h = (h ^ h >>> 32) * 0xD6E8FEB86659FD93L;
+        return (int) (h ^ h >>> 32);
+    }
+    
+    /**
+     * @return the 22-char encoded form of this ID
+     */
+    public String toString() {
+        return RandomId.toString(high, low);
+    }
+    
+    /**
+     * @return the 22-char {@link RandomId#toSortableString(long, long) sortable form} of this ID
+     */
+    public String toSortableString() {
+        return RandomId.toSortableString(high, low);
+    }
+    
+    private int digitAt(int index) {
+        if (index < 10) {
+            return (int) (high >>> (58 - 6 * index)) & 63;
+        } else if (index == 10) {
+            return (int) ((high & 15L) << 2 | low >>> 62);
+        } else if (index < 21) {
+            return (int) (low >>> (56 - 6 * (index - 11))) & 63;
+        }
+        return (int) (low & 3L) << 4;
+    }
+    
+    private static byte[] valuesOf(String digits) {
+        byte[] values = new byte[128];
+        Arrays.fill(values, (byte) -1);
+        for (int i = 0; i < digits.length(); ++i) {
+            values[digits.charAt(i)] = (byte) i;
+        }
+        return values;
+    }
+    
+    private static int digitAt(CharSequence input, int index, byte[] values) {
+        char c = input.charAt(index);
+        int value = c < 128 ? values[c] : -1;
+        Failsafe.checkArgument(value >= 0, () -> "Failed to parse ID: " + input);
+        return value;
+    }
+    
+}
@@ -0,0 +1,141 @@
+package com.doctusoft.java;
+
+import com.doctusoft.annotation.Beta;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.*;
+
+import static java.util.Objects.*;
+
+/**
+ * A thread-safe, lock-free circuit breaker usable as a {@link RetryGuard}. The breaker is {@link State#CLOSED closed}
+ * by default permitting all attempts. After {@code failureThreshold} consecutive failures it becomes
+ * {@link State#OPEN open} refusing all attempts for the duration of {@code openDuration}. After that time the next
+ * attempt is permitted as a probe switching the breaker to {@link State#HALF_OPEN half-open}: while the probe is in
+ * progress all other attempts are refused, its success closes the breaker, while its failure opens it again. A probe
+ * without any notification for {@code openDuration} is considered lost, and a new probe is permitted.
+ * <p>Sharing a breaker between all callers of the same dependency ensures that retries cannot turn partial failures
+ * into a full outage.</p>
+ */
+@Beta
+public class CircuitBreaker implements RetryGuard {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final Phase CLOSED = new Phase(State.CLOSED, 0L);
+
+    private final int failureThreshold;
+
+    private final long openNanos;
+
+    private final AtomicReference<Phase> phase = new AtomicReference<>(CLOSED);
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    /**
+     * @param failureThreshold the number of consecutive failures opening the breaker
+     * @param openDuration     the time to wait in open state before permitting a probe attempt, also the time after
+     *                         which a probe without outcome is considered lost and a new probe is permitted
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        Failsafe.checkArgument(failureThreshold > 0, () -> "failureThreshold: " + failureThreshold);
+        requireNonNull(openDuration, "openDuration");
+        Failsafe.checkArgument(!openDuration.isNegative(), () -> "openDuration: " + openDuration);
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    public State getState() {
+        return phase.get().state;
+    }
+
+    /**
+     * @return {@code true} if an attempt would be permitted right now
+     */
+    public boolean isCallPermitted() {
+        Phase current = phase.get();
+        return current.state == State.CLOSED || elapsed(current);
+    }
+
+    public boolean tryAcquire(boolean retry) {
+        Phase current = phase.get();
+        if (current.state == State.CLOSED) {
+            return true;
+        }
+        // in half-open state the probe is replaced if it has been lost without any notification
+        return elapsed(current) && phase.compareAndSet(current, new Phase(State.HALF_OPEN, getSystemNanos()));
+    }
+
+    public void onSuccess() {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+        Phase current = phase.get();
+        if (current.state == State.HALF_OPEN) {
+            phase.compareAndSet(current, CLOSED);
+        }
+    }
+
+    public void onFailure() {
+        Phase current = phase.get();
+        switch (current.state) {
+        case CLOSED:
+            if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                open(current, getSystemNanos());
+            }
+            break;
+        case HALF_OPEN:
+            open(current, getSystemNanos());
+            break;
+        default:
+            // already open
+        }
+    }
+
+    public void release(boolean retry) {
+        Phase current = phase.get();
+        if (current.state == State.HALF_OPEN) {
+            // the probe has not completed, so the next attempt is permitted as a probe again
+            open(current, getSystemNanos() - openNanos);
+        }
+    }
+
+    private void open(Phase expected, long openedAt) {
+        if (phase.compareAndSet(expected, new Phase(State.OPEN, openedAt))) {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    private boolean elapsed(Phase current) {
+        return getSystemNanos() - current.since >= openNanos;
+    }
+
+    protected long getSystemNanos() {
+        return System.nanoTime();
+    }
+
+    public String toString() {
+        return "CircuitBreaker{state=" + getState() + ", failureThreshold=" + failureThreshold + "}";
+    }
+
+    /**
+     * The state and the time it was entered at, replaced atomically so the timestamp of a transition is only recorded
+     * by the thread performing it.
+     */
+    private static final class Phase {
+
+        private final State state;
+
+        private final long since;
+
+        Phase(State state, long since) {
+            this.state = state;
+            this.since = since;
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.doctusoft.java;
+
+import com.doctusoft.annotation.Beta;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.*;
+
+import static java.util.Objects.*;
+
+/**
+ * Similar to {@link PrecisionClock} but periodically re-synchronizes with the delegate {@link Clock}, so long-lived
+ * instances follow the (NTP corrected) wall clock time instead of drifting away from it.
+ * <p>The current time is computed from a base timestamp and {@link System#nanoTime()} without any allocation. When
+ * the re-synchronization interval elapsed the first reader compares the computed time with the delegate clock. If the
+ * difference is greater than the threshold the clock is corrected: a lagging clock jumps forward, while a clock which
+ * is ahead of the delegate is slowed down to half speed until the difference is worked off, so the returned time
+ * never moves backwards within a thread.</p>
+ */
+@Beta
+public class DriftCorrectedClock extends NanoClock {
+
+    /**
+     * The default re-synchronization interval: 1 minute.
+     */
+    public static final Duration DEFAULT_RESYNC_INTERVAL = Duration.ofMinutes(1L);
+
+    /**
+     * The default threshold of corrections: 5 milliseconds, above the precision of the JDK8 system clock.
+     */
+    public static final Duration DEFAULT_THRESHOLD = Duration.ofMillis(5L);
+
+    private final Clock clock;
+
+    private final long resyncIntervalNanos;
+
+    private final long thresholdNanos;
+
+    private final AtomicReference<Sync> sync = new AtomicReference<>();
+
+    /**
+     * Creates a new instance using the {@link Clock#systemUTC()} clock as delegate with the default re-synchronization
+     * interval and threshold.
+     */
+    public DriftCorrectedClock() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new instance with the default re-synchronization interval and threshold.
+     */
+    public DriftCorrectedClock(Clock delegate) {
+        this(delegate, DEFAULT_RESYNC_INTERVAL, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param delegate       the wall clock to synchronize with
+     * @param resyncInterval the time elapsed between the checks of the drift
+     * @param threshold      the minimum drift to be corrected
+     */
+    public DriftCorrectedClock(Clock delegate, Duration resyncInterval, Duration threshold) {
+        this.clock = requireNonNull(delegate, "delegate");
+        Failsafe.checkArgument(!resyncInterval.isNegative() && !resyncInterval.isZero(),
+            () -> "resyncInterval: " + resyncInterval);
+        Failsafe.checkArgument(!threshold.isNegative(), () -> "threshold: " + threshold);
+        this.resyncIntervalNanos = resyncInterval.toNanos();
+        this.thresholdNanos = threshold.toNanos();
+        this.sync.set(new Sync(getSystemNanos(), epochNanosOf(delegate.instant()), 0L, 0L));
+    }
+
+    public ZoneId getZone() {
+        return clock.getZone();
+    }
+
+    public long epochNanos() {
+        long now = getSystemNanos();
+        Sync current = sync.get();
+        if (now - current.systemNanos >= resyncIntervalNanos) {
+            current = resync(current, now);
+        }
+        return current.epochNanos(now);
+    }
+
+    public Clock withZone(ZoneId zone) {
+        return new DriftCorrectedClock(clock.withZone(zone), Duration.ofNanos(resyncIntervalNanos),
+            Duration.ofNanos(thresholdNanos));
+    }
+
+    /**
+     * @return the drift corrected at the last re-synchronization (in nanoseconds), negative if the clock was ahead of
+     * the delegate clock
+     */
+    public long getLastCorrection() {
+        return sync.get().correction;
+    }
+
+    protected long getSystemNanos() {
+        return System.nanoTime();
+    }
+
+    private Sync resync(Sync current, long now) {
+        long computed = current.epochNanos(now);
+        long drift = epochNanosOf(clock.instant()) - computed;
+        Sync next;
+        if (Math.abs(drift) <= thresholdNanos) {
+            next = new Sync(now, computed, 0L, 0L);
+        } else if (drift > 0L) {
+            next = new Sync(now, computed + drift, 0L, drift);
+        } else {
+            next = new Sync(now, computed, -drift, drift);
+        }
+        return sync.compareAndSet(current, next) ? next : sync.get();
+    }
+
+    private static final class Sync {
+
+        private final long systemNanos;
+
+        private final long epochNanos;
+
+        private final long slew;
+
+        private final long correction;
+
+        Sync(long systemNanos, long epochNanos, long slew, long correction) {
+            this.systemNanos = systemNanos;
+            this.epochNanos = epochNanos;
+            this.slew = slew;
+            this.correction = correction;
+        }
+
+        /**
+         * @param now the system nanos, which may precede the {@link #systemNanos} if another thread installed this
+         *            instance after {@code now} was read
+         */
+        long epochNanos(long now) {
+            long elapsed = Math.max(0L, now - systemNanos);
+            return epochNanos + elapsed - Math.min(slew, elapsed >>> 1);
+        }
+    }
+
+}
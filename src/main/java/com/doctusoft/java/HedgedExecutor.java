@@ -0,0 +1,239 @@
+package com.doctusoft.java;
+
+import com.doctusoft.annotation.Beta;
+import com.doctusoft.math.ExponentialDelays;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+import static java.util.Objects.*;
+
+/**
+ * Executes {@link Callable} tasks with hedging: when the first attempt is slow, further (backup) attempts of the same
+ * task are started without waiting for the first one to fail. The first successful attempt completes the returned
+ * {@link CompletableFuture} and all other attempts still running are canceled. This reduces the tail latency of
+ * idempotent calls against replicated services at the cost of some extra load.
+ * <p>The hedges are started either after the delays of an {@link ExponentialDelays.OfLong} stream (in milliseconds,
+ * each delay measured from the start of the previous attempt) or after the given percentile of the latencies recorded
+ * in a {@link LatencyHistogram}. The number of hedges running concurrently is capped: a hedge that is due while the
+ * cap is reached is started only after a running attempt fails. A failed attempt does not bring the next hedge
+ * forward, so failing tasks are not retried without delay. When all attempts failed and there is no hedge left, the
+ * returned future completes exceptionally with the last failure.</p>
+ * <p>Canceling the returned future cancels all running attempts and pending hedges.</p>
+ */
+@Beta
+public final class HedgedExecutor {
+
+    /**
+     * The minimum number of latencies recorded in a histogram before percentile-based hedges are started.
+     */
+    public static final long MIN_PERCENTILE_SAMPLES = 100L;
+
+    private final ExecutorService executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final int maxConcurrentHedges;
+
+    /**
+     * Creates a new instance executing both the attempts and the timers on the provided {@code scheduler}.
+     */
+    public HedgedExecutor(ScheduledExecutorService scheduler, int maxConcurrentHedges) {
+        this(scheduler, scheduler, maxConcurrentHedges);
+    }
+
+    /**
+     * @param executor            the executor service to execute the attempts on
+     * @param scheduler           the executor service to schedule the hedges on
+     * @param maxConcurrentHedges the maximum number of hedges running concurrently with the first attempt
+     */
+    public HedgedExecutor(ExecutorService executor, ScheduledExecutorService scheduler, int maxConcurrentHedges) {
+        this.executor = requireNonNull(executor, "executor");
+        this.scheduler = requireNonNull(scheduler, "scheduler");
+        Failsafe.checkArgument(maxConcurrentHedges >= 0, () -> "maxConcurrentHedges: " + maxConcurrentHedges);
+        this.maxConcurrentHedges = maxConcurrentHedges;
+    }
+
+    /**
+     * Executes the {@code task} starting a hedge after each delay (in milliseconds) of the provided stream.
+     *
+     * @param task   the callable task, should be idempotent since it may be executed several times concurrently
+     * @param delays builder for the stream of delays before the hedges (in milliseconds)
+     * @param <T>    the return value of the callable task
+     * @return a future completed by the first successful attempt or exceptionally if all attempts failed
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task, ExponentialDelays.OfLong delays) {
+        LongStream nanos = delays.build().map(TimeUnit.MILLISECONDS::toNanos);
+        return new HedgedCall<>(task, nanos.spliterator(), null).start();
+    }
+
+    /**
+     * Executes the {@code task} starting at most {@code maxHedges} hedges, each after the given {@code percentile} of
+     * the latencies of the successful attempts. The latencies of the successful attempts are recorded in the provided
+     * {@code latencies} histogram. No hedges are started until the histogram contains at least
+     * {@link #MIN_PERCENTILE_SAMPLES} values.
+     *
+     * @param task       the callable task, should be idempotent since it may be executed several times concurrently
+     * @param latencies  the histogram of the latencies (in nanoseconds) of previous executions of similar tasks
+     * @param percentile the percentile of the latencies after which a hedge is started (e.g. 95.0)
+     * @param maxHedges  the maximum number of hedges started altogether
+     * @param <T>        the return value of the callable task
+     * @return a future completed by the first successful attempt or exceptionally if all attempts failed
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task, LatencyHistogram latencies, double percentile,
+        int maxHedges) {
+        requireNonNull(latencies, "latencies");
+        Failsafe.checkArgument(percentile > 0.0 && percentile < 100.0, () -> "percentile: " + percentile);
+        Failsafe.checkArgument(maxHedges >= 0, () -> "maxHedges: " + maxHedges);
+        LongStream nanos = LongStream
+            .generate(() -> latencies.getCount() < MIN_PERCENTILE_SAMPLES ? -1L : latencies.getPercentile(percentile))
+            .limit(maxHedges)
+            .filter(delay -> delay >= 0L);
+        return new HedgedCall<>(task, nanos.spliterator(), latencies).start();
+    }
+
+    private final class HedgedCall<T> {
+
+        private final Callable<T> task;
+
+        private final Spliterator.OfLong hedgeDelays;
+
+        private final LatencyHistogram latencies;
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private final List<Attempt> attempts = new ArrayList<>();
+
+        private Future<?> pendingHedge;
+
+        /**
+         * Identifies the last scheduled hedge, so a hedge superseded while it was waiting for the monitor does nothing.
+         */
+        private int hedgeGeneration;
+
+        private Attempt winner;
+
+        private boolean hedgeDue;
+
+        private boolean noMoreHedges;
+
+        private int running;
+
+        private HedgedCall(Callable<T> task, Spliterator.OfLong hedgeDelays, LatencyHistogram latencies) {
+            this.task = requireNonNull(task, "task");
+            this.hedgeDelays = hedgeDelays;
+            this.latencies = latencies;
+        }
+
+        CompletableFuture<T> start() {
+            result.whenComplete((value, failure) -> cancelAll());
+            synchronized (this) {
+                launch();
+                scheduleNextHedge();
+            }
+            return result;
+        }
+
+        // guarded by this
+        private void launch() {
+            ++running;
+            Attempt attempt = new Attempt();
+            try {
+                attempt.future = executor.submit(attempt);
+                attempts.add(attempt);
+            } catch (RejectedExecutionException e) {
+                --running;
+                if (running == 0) {
+                    result.completeExceptionally(e);
+                }
+            }
+        }
+
+        // guarded by this
+        private void scheduleNextHedge() {
+            int generation = ++hedgeGeneration;
+            LongConsumer schedule = delay -> pendingHedge = scheduler.schedule(() -> hedge(generation), delay,
+                TimeUnit.NANOSECONDS);
+            try {
+                noMoreHedges = !hedgeDelays.tryAdvance(schedule);
+            } catch (RejectedExecutionException e) {
+                noMoreHedges = true;
+            }
+        }
+
+        private synchronized void hedge(int generation) {
+            if (generation != hedgeGeneration) {
+                return;
+            }
+            pendingHedge = null;
+            if (result.isDone()) {
+                return;
+            }
+            if (running > maxConcurrentHedges) {
+                hedgeDue = true;
+                return;
+            }
+            launch();
+            scheduleNextHedge();
+        }
+
+        private void attempt(Attempt self) {
+            if (result.isDone()) {
+                return;
+            }
+            long started = System.nanoTime();
+            try {
+                T value = task.call();
+                if (latencies != null) {
+                    latencies.record(System.nanoTime() - started);
+                }
+                synchronized (this) {
+                    winner = self;
+                }
+                result.complete(value);
+            } catch (Throwable e) {
+                failed(e);
+            }
+        }
+
+        private synchronized void failed(Throwable failure) {
+            --running;
+            if (result.isDone()) {
+                return;
+            }
+            if (hedgeDue) {
+                hedgeDue = false;
+                launch();
+                scheduleNextHedge();
+            } else if (running == 0 && pendingHedge == null && noMoreHedges) {
+                result.completeExceptionally(failure);
+            }
+        }
+
+        private synchronized void cancelAll() {
+            if (pendingHedge != null) {
+                pendingHedge.cancel(false);
+                pendingHedge = null;
+            }
+            for (Attempt attempt : attempts) {
+                // the winner is completing the result on its own thread, which must not be interrupted
+                if (attempt != winner) {
+                    attempt.future.cancel(true);
+                }
+            }
+        }
+
+        private final class Attempt implements Runnable {
+
+            // guarded by HedgedCall.this
+            private Future<?> future;
+
+            public void run() {
+                attempt(this);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.doctusoft.java;
+
+import com.doctusoft.annotation.Beta;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * A thread-safe, lock-free histogram of non-negative long values (typically latencies in nanoseconds) with a fixed
+ * memory footprint. Values are counted in buckets of exponentially increasing width: every power of two range is
+ * divided into 8 equal sub-buckets, so the relative error of the reported values is at most 12.5%. Values less than
+ * 16 are counted exactly.
+ * <p>Recording a value takes four lock-free updates without any allocation: the bucket counter, the count, the sum
+ * and the maximum. The updates are independent, so a concurrent reader may observe a value only partially recorded.
+ * </p>
+ */
+@Beta
+public final class LatencyHistogram {
+
+    private static final int EXACT_VALUES = 16;
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int MIN_EXPONENT = 4;
+
+    private static final int BUCKET_COUNT = EXACT_VALUES + (63 - MIN_EXPONENT) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * @param value the value to record, negative values are recorded as 0
+     */
+    public void record(long value) {
+        if (value < 0L) {
+            value = 0L;
+        }
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return the average of the recorded values or 0 if there are none
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0L ? 0.0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * @param percentile the requested percentile between 0.0 and 100.0 (e.g. 99.0 for the p99 value)
+     * @return the upper estimate of the requested percentile of the recorded values or 0 if there are none
+     */
+    public long getPercentile(double percentile) {
+        Failsafe.checkArgument(percentile >= 0.0 && percentile <= 100.0, () -> "percentile: " + percentile);
+        long total = 0L;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            total += (snapshot[i] = counts.get(i));
+        }
+        if (total == 0L) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0L;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    static int bucketOf(long value) {
+        if (value < EXACT_VALUES) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return EXACT_VALUES + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < EXACT_VALUES) {
+            return bucket;
+        }
+        int exponent = (bucket - EXACT_VALUES) / SUB_BUCKETS + MIN_EXPONENT;
+        long subBucket = (bucket - EXACT_VALUES) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1L;
+    }
+
+    public String toString() {
+        return "LatencyHistogram{count=" + getCount() + ", mean=" + getMean() + ", p50=" + getPercentile(50.0)
+            + ", p99=" + getPercentile(99.0) + ", max=" + getMax() + "}";
+    }
+
+}
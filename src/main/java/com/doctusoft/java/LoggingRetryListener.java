@@ -0,0 +1,58 @@
+package com.doctusoft.java;
+
+import com.doctusoft.annotation.Beta;
+
+import java.util.concurrent.*;
+import java.util.logging.*;
+
+import static java.util.Objects.*;
+
+/**
+ * {@link RetryListener} implementation logging the execution details using {@link Logger java.util.logging}: failed
+ * attempts on {@link Level#WARNING}, delays on {@link Level#INFO} and permanent failures on {@link Level#SEVERE} level.
+ * All messages are built lazily, only if the level in question is loggable.
+ * <p>Logging the stack traces of the failed attempts can be turned off, which is recommended for high failure rates.
+ * The stack trace of the exception finishing the operation is always logged.</p>
+ */
+@Beta
+public final class LoggingRetryListener implements RetryListener {
+
+    private final Logger log;
+
+    private final boolean logStackTraces;
+
+    /**
+     * Creates a new listener logging the stack traces of all failed attempts.
+     */
+    public LoggingRetryListener(Logger log) {
+        this(log, true);
+    }
+
+    public LoggingRetryListener(Logger log, boolean logStackTraces) {
+        this.log = requireNonNull(log, "log");
+        this.logStackTraces = logStackTraces;
+    }
+
+    public void onFailure(int attempt, long elapsedNanos, Exception failure) {
+        if (logStackTraces) {
+            log.log(Level.WARNING, failure, () -> attempt + ". attempt failed");
+        } else {
+            log.log(Level.WARNING, () -> attempt + ". attempt failed: " + failure);
+        }
+    }
+
+    public void onDelay(int attempt, long delayMillis) {
+        log.log(Level.INFO, () -> "Waiting " + Retry.printMillis(delayMillis) + " before retrying...");
+    }
+
+    public void onGiveUp(int attempts, long totalNanos, Exception reason) {
+        if (reason instanceof CancellationException) {
+            log.log(Level.SEVERE, "Task canceled", reason);
+        } else if (attempts == 0) {
+            log.log(Level.SEVERE, reason, () -> "Rejected: " + reason.getMessage());
+        } else {
+            log.log(Level.SEVERE, reason, () -> "Failed permanently after " + attempts + " attempts");
+        }
+    }
+
+}
@@ -0,0 +1,268 @@
+package com.doctusoft.java;
+
+import com.doctusoft.annotation.Beta;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+import static java.util.Objects.*;
+
+/**
+ * Generates {@link RandomId#sequential() sequential} random IDs which are strictly increasing for all IDs generated by
+ * the same instance, even if they are generated in the same clock tick on different threads or the clock moves
+ * backwards.
+ * <p>The high 64 bits of the IDs are the number of 100ns ticks since epoch(0), just like in case of
+ * {@link RandomId#sequential()}. The last tick value used is stored in an {@link AtomicLong}, if the current tick is
+ * not greater than the last one, the last tick value is incremented instead (a lock-free compare-and-set loop), so
+ * the time component is borrowed from the near future under heavy load until the clock catches up. The low 64 bits
+ * optionally start with a fixed-width node ID identifying the generating process, followed by random bits.</p>
+ * <p>Strict ordering is guaranteed for the 128bit numeric values of the IDs, see {@link #next(long[])} and
+ * {@link BinaryId#NUMERIC_ORDER}, and for the {@link #nextSortable() sortable} Strings. The Strings returned by
+ * {@link #next()} do not sort in generation order, since the URL-safe Base64 alphabet is not in ASCII order.</p>
+ * <p>The bulk methods ({@link #fill(long[], long[])}, {@link #stream(long)}, {@link #binaryStream(long)}) reserve the
+ * consecutive ticks of all IDs with a single compare-and-set and read the clock once, so the generated IDs are
+ * ordered among themselves and with respect to the IDs generated before and after them. Since each ID takes a tick of
+ * its own, a bulk reservation of {@code count} IDs moves the time component of the subsequently generated IDs ahead
+ * of the clock by up to {@code count} &times; 100ns (e.g. 1ms per 10 000 IDs) until the clock catches up.</p>
+ *
+ * @see RandomId#monotonic()
+ */
+@Beta
+public final class MonotonicIdGenerator {
+    
+    /**
+     * The maximum number of bits of the node ID.
+     */
+    public static final int MAX_NODE_BITS = 32;
+    
+    private final LongSupplier ticks;
+    
+    private final long node;
+    
+    private final long randomMask;
+    
+    private final AtomicLong lastTicks = new AtomicLong(Long.MIN_VALUE);
+    
+    /**
+     * Creates a new generator without node ID using a {@link DriftCorrectedClock}.
+     */
+    public MonotonicIdGenerator() {
+        this(new DriftCorrectedClock(), 0, 0);
+    }
+    
+    /**
+     * Creates a new generator using a {@link DriftCorrectedClock}.
+     *
+     * @param nodeId   the node ID stored in the highest {@code nodeBits} bits of the low 64 bits of the generated IDs
+     * @param nodeBits the number of bits of the node ID between 0 and {@link #MAX_NODE_BITS}
+     */
+    public MonotonicIdGenerator(int nodeId, int nodeBits) {
+        this(new DriftCorrectedClock(), nodeId, nodeBits);
+    }
+    
+    /**
+     * @param clock    the clock providing the time component of the IDs, read allocation-free if it's a
+     *                 {@link NanoClock}
+     * @param nodeId   the node ID stored in the highest {@code nodeBits} bits of the low 64 bits of the generated IDs
+     * @param nodeBits the number of bits of the node ID between 0 and {@link #MAX_NODE_BITS}
+     */
+    public MonotonicIdGenerator(Clock clock, int nodeId, int nodeBits) {
+        requireNonNull(clock, "clock");
+        if (clock instanceof NanoClock) {
+            NanoClock nanoClock = (NanoClock) clock;
+            this.ticks = () -> nanoClock.epochNanos() / 100L;
+        } else {
+            this.ticks = () -> NanoClock.epochNanosOf(clock.instant()) / 100L;
+        }
+        Failsafe.checkArgument(nodeBits >= 0 && nodeBits <= MAX_NODE_BITS, () -> "nodeBits: " + nodeBits);
+        Failsafe.checkArgument(nodeId >= 0 && nodeId < 1L << nodeBits,
+            () -> "nodeId: " + nodeId);
+        this.node = nodeBits == 0 ? 0L : (long) nodeId << (64 - nodeBits);
+        this.randomMask = -1L >>> nodeBits;
+    }
+    
+    /**
+     * @return a new 22-char long URL-safe identifier
+     */
+    public String next() {
+        return RandomId.toString(nextTicks(), nextLow());
+    }
+    
+    /**
+     * Returns a new identifier {@link RandomId#toSortableString(long, long) in sortable form}: the Strings returned by
+     * subsequent invocations are strictly increasing in lexicographical order. Use
+     * {@code spliterator(count, RandomId::toSortableString)} to generate them in bulk.
+     *
+     * @return a new 22-char long URL-safe identifier
+     */
+    public String nextSortable() {
+        return RandomId.toSortableString(nextTicks(), nextLow());
+    }
+    
+    /**
+     * Writes a new identifier into {@code target} starting at {@code offset}.
+     */
+    public void next(char[] target, int offset) {
+        RandomId.encode(nextTicks(), nextLow(), target, offset);
+    }
+    
+    /**
+     * Writes a new identifier as US-ASCII bytes into {@code target} starting at {@code offset}.
+     */
+    public void next(byte[] target, int offset) {
+        RandomId.encode(nextTicks(), nextLow(), target, offset);
+    }
+    
+    /**
+     * Appends a new identifier to {@code target}.
+     *
+     * @return the {@code target} builder
+     */
+    public StringBuilder next(StringBuilder target) {
+        return RandomId.append(nextTicks(), nextLow(), target);
+    }
+    
+    /**
+     * Stores the high and low 64 bits of a new identifier in the first two elements of {@code target}. The high 64
+     * bits are strictly increasing for the subsequent invocations.
+     */
+    public void next(long[] target) {
+        Failsafe.checkArgument(target.length >= 2, () -> "target.length: " + target.length);
+        target[0] = nextTicks();
+        target[1] = nextLow();
+    }
+    
+    /**
+     * Generates {@code high.length} new identifiers storing their high and low 64 bits in the corresponding elements
+     * of the arrays. The high 64 bits are consecutive tick values, so the time component of the IDs generated
+     * afterwards runs ahead of the clock by up to {@code high.length} &times; 100ns.
+     */
+    public void fill(long[] high, long[] low) {
+        Failsafe.checkArgument(high.length == low.length,
+            () -> "high.length: " + high.length + ", low.length: " + low.length);
+        if (high.length == 0) {
+            return;
+        }
+        long first = reserveTicks(high.length);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < high.length; ++i) {
+            high[i] = first + i;
+            low[i] = node | random.nextLong() & randomMask;
+        }
+    }
+    
+    /**
+     * Returns an ordered stream of {@code count} new identifiers. The ticks of all identifiers are reserved upon
+     * invocation, the identifiers themselves are created lazily. The stream can be efficiently split for parallel
+     * processing. The time component of the identifiers generated afterwards runs ahead of the clock by up to
+     * {@code count} &times; 100ns.
+     *
+     * @throws IllegalArgumentException if {@code count} exceeds the remaining tick range
+     */
+    public Stream<String> stream(long count) {
+        return StreamSupport.stream(spliterator(count, RandomId::toString), false);
+    }
+    
+    /**
+     * Similar to {@link #stream(long)} but returns the identifiers in their {@link BinaryId binary form}.
+     */
+    public Stream<BinaryId> binaryStream(long count) {
+        return StreamSupport.stream(spliterator(count, BinaryId::of), false);
+    }
+    
+    /**
+     * Returns a spliterator of {@code count} new identifiers created with the {@code idFactory} from their high and
+     * low 64 bits. The ticks of all identifiers are reserved upon invocation.
+     *
+     * @throws IllegalArgumentException if {@code count} is negative or exceeds the remaining tick range
+     */
+    public <T> Spliterator<T> spliterator(long count, IdFactory<? extends T> idFactory) {
+        Failsafe.checkArgument(count >= 0L, () -> "count: " + count);
+        requireNonNull(idFactory, "idFactory");
+        long first = count == 0L ? 0L : reserveTicks(count);
+        return new IdSpliterator<>(first, first + count, idFactory);
+    }
+    
+    long nextTicks() {
+        return reserveTicks(1L);
+    }
+    
+    private long reserveTicks(long count) {
+        long now = ticks.getAsLong();
+        while (true) {
+            long last = lastTicks.get();
+            long next = now > last ? now : last + 1L;
+            // also rejects the wrapped around next tick once the tick range is exhausted
+            Failsafe.checkArgument(count - 1L <= Long.MAX_VALUE - next, () -> "count: " + count);
+            if (lastTicks.compareAndSet(last, next + count - 1L)) {
+                return next;
+            }
+        }
+    }
+    
+    private long nextLow() {
+        return node | ThreadLocalRandom.current().nextLong() & randomMask;
+    }
+    
+    /**
+     * Creates identifiers from their high and low 64 bits, e.g. {@code RandomId::toString} or {@code BinaryId::of}.
+     */
+    @FunctionalInterface
+    public interface IdFactory<T> {
+        
+        T create(long high, long low);
+    }
+    
+    private final class IdSpliterator<T> implements Spliterator<T> {
+        
+        private final IdFactory<? extends T> idFactory;
+        
+        private long next;
+        
+        private final long end;
+        
+        IdSpliterator(long next, long end, IdFactory<? extends T> idFactory) {
+            this.next = next;
+            this.end = end;
+            this.idFactory = idFactory;
+        }
+        
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (next >= end) {
+                return false;
+            }
+            action.accept(idFactory.create(next++, nextLow()));
+            return true;
+        }
+        
+        public void forEachRemaining(Consumer<? super T> action) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (; next < end; ++next) {
+                action.accept(idFactory.create(next, node | random.nextLong() & randomMask));
+            }
+        }
+        
+        public Spliterator<T> trySplit() {
+            long size = end - next;
+            if (size < 2L) {
+                return null;
+            }
+            long start = next;
+            next += size >>> 1;
+            return new IdSpliterator<>(start, next, idFactory);
+        }
+        
+        public long estimateSize() {
+            return end - next;
+        }
+        
+        public int characteristics() {
+            return ORDERED | DISTINCT | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+    
+}
@@ -0,0 +1,39 @@
+package com.doctusoft.java;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Base class of {@link Clock} implementations providing the current time in nanosecond precision. Besides the
+ * {@link Instant} returning methods it offers allocation-free {@code long} accessors to be used on hot paths.
+ */
+public abstract class NanoClock extends Clock {
+    
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    
+    /**
+     * @return the current time as the number of nanoseconds since epoch(0)
+     */
+    public abstract long epochNanos();
+    
+    /**
+     * @return the current time as the number of microseconds since epoch(0)
+     */
+    public long epochMicros() {
+        return Math.floorDiv(epochNanos(), 1_000L);
+    }
+    
+    public long millis() {
+        return Math.floorDiv(epochNanos(), 1_000_000L);
+    }
+    
+    public Instant instant() {
+        long nanos = epochNanos();
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), Math.floorMod(nanos, NANOS_PER_SECOND));
+    }
+    
+    static long epochNanosOf(Instant instant) {
+        return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
+    
+}
@@ -1,19 +1,20 @@
 package com.doctusoft.java;
 
 import java.time.Clock;
-import java.time.Instant;
 import java.time.ZoneId;
 
 /**
  * Currently JDK8 internal {@link Clock} implementation returns current instant only by millisecond precision. This
  * wrapper {@link Clock} implementation however improves the precision of the delegate {@link Clock} using 
  * {@link System#nanoTime()} to adjust current instants to the nanosecond precision.
+ * <p>The delegate clock is read only once upon construction, so long-lived instances drift away from the (NTP
+ * corrected) wall clock time. Consider using {@link DriftCorrectedClock} in such cases.</p>
  */
-public class PrecisionClock extends Clock {
+public class PrecisionClock extends NanoClock {
     
     private final Clock clock;
     
-    private final Instant initial;
+    private final long initial;
     
     private final long nanos;
     
@@ -29,7 +30,7 @@ public class PrecisionClock extends Clock {
      */
     public PrecisionClock(Clock delegate) {
         this.clock = delegate;
-        this.initial = delegate.instant();
+        this.initial = epochNanosOf(delegate.instant());
         this.nanos = getSystemNanos();
     }
     
@@ -37,8 +38,8 @@ public class PrecisionClock extends Clock {
         return clock.getZone();
     }
     
-    public Instant instant() {
-        return initial.plusNanos(getSystemNanos() - nanos);
+    public long epochNanos() {
+        return initial + (getSystemNanos() - nanos);
     }
     
     public Clock withZone(ZoneId zone) {
@@ -1,9 +1,8 @@
 package com.doctusoft.java;
 
-import java.nio.ByteBuffer;
-import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.stream.*;
 
 /**
  * Provides random String ID generation suitable for distributed systems.
@@ -17,16 +16,31 @@ import java.util.concurrent.*;
  * All random parts of IDs are pseudo random numbers generated with {@link ThreadLocalRandom}. If you need to generate
  * cryptographically secure random values you should not delegate it to a static method invocation anyway. Consider 
  * designing and implementing your own mechanism using {@link java.security.SecureRandom} instead.
+ * </p><p>
+ * Besides the String returning methods every mechanism has overloads writing the encoded ID into a caller provided
+ * {@code char[]}, {@code byte[]} (US-ASCII) or {@link StringBuilder}, and a binary form filling a {@code long[2]} array
+ * with the high and low 64 bits of the ID. These don't allocate any temporary objects.
  * </p>
  *
  * @see Base64
- * @see PrecisionClock
+ * @see DriftCorrectedClock
  */
 public final class RandomId {
     
-    private static final PrecisionClock CLOCK = new PrecisionClock();
+    /**
+     * The length of the encoded IDs.
+     */
+    public static final int LENGTH = 22;
+    
+    private static final NanoClock CLOCK = new DriftCorrectedClock();
     
-    private static final Base64.Encoder CODER = Base64.getUrlEncoder().withoutPadding();
+    private static final MonotonicIdGenerator MONOTONIC = new MonotonicIdGenerator(CLOCK, 0, 0);
+    
+    private static final char[] DIGITS =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    
+    private static final char[] SORTABLE_DIGITS =
+        "-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz".toCharArray();
     
     private RandomId() { throw Failsafe.staticClassInstantiated(); }
     
@@ -45,13 +59,37 @@ public final class RandomId {
      * @return a 22-char long URL-safe random identifier
      */
     public static String sequential() {
-        Instant now = Instant.now(CLOCK);
-        ByteBuffer buf = ByteBuffer.allocate(16);
-        buf.asLongBuffer()
-            .put(now.getEpochSecond() * 10_000_000L + (now.getNano() / 100))
-            .put(ThreadLocalRandom.current().nextLong())
-        ;
-        return CODER.encodeToString(buf.array());
+        return toString(currentTicks(), ThreadLocalRandom.current().nextLong());
+    }
+    
+    /**
+     * Writes a new {@link #sequential()} ID into {@code target} starting at {@code offset}.
+     */
+    public static void sequential(char[] target, int offset) {
+        encode(currentTicks(), ThreadLocalRandom.current().nextLong(), target, offset);
+    }
+    
+    /**
+     * Writes a new {@link #sequential()} ID as US-ASCII bytes into {@code target} starting at {@code offset}.
+     */
+    public static void sequential(byte[] target, int offset) {
+        encode(currentTicks(), ThreadLocalRandom.current().nextLong(), target, offset);
+    }
+    
+    /**
+     * Appends a new {@link #sequential()} ID to {@code target}.
+     *
+     * @return the {@code target} builder
+     */
+    public static StringBuilder sequential(StringBuilder target) {
+        return append(currentTicks(), ThreadLocalRandom.current().nextLong(), target);
+    }
+    
+    /**
+     * Stores the high and low 64 bits of a new {@link #sequential()} ID in the first two elements of {@code target}.
+     */
+    public static void sequential(long[] target) {
+        set(currentTicks(), ThreadLocalRandom.current().nextLong(), target);
     }
     
     /**
@@ -63,13 +101,38 @@ public final class RandomId {
      * @return a 22-char long URL-safe random identifier
      */
     public static String uniformDistribution() {
-        Instant now = Instant.now(CLOCK);
-        ByteBuffer buf = ByteBuffer.allocate(16);
-        buf.asLongBuffer()
-            .put(ThreadLocalRandom.current().nextLong())
-            .put(now.getEpochSecond() * 10_000_000L + (now.getNano() / 100))
-        ;
-        return CODER.encodeToString(buf.array());
+        return toString(ThreadLocalRandom.current().nextLong(), currentTicks());
+    }
+    
+    /**
+     * Writes a new {@link #uniformDistribution()} ID into {@code target} starting at {@code offset}.
+     */
+    public static void uniformDistribution(char[] target, int offset) {
+        encode(ThreadLocalRandom.current().nextLong(), currentTicks(), target, offset);
+    }
+    
+    /**
+     * Writes a new {@link #uniformDistribution()} ID as US-ASCII bytes into {@code target} starting at {@code offset}.
+     */
+    public static void uniformDistribution(byte[] target, int offset) {
+        encode(ThreadLocalRandom.current().nextLong(), currentTicks(), target, offset);
+    }
+    
+    /**
+     * Appends a new {@link #uniformDistribution()} ID to {@code target}.
+     *
+     * @return the {@code target} builder
+     */
+    public static StringBuilder uniformDistribution(StringBuilder target) {
+        return append(ThreadLocalRandom.current().nextLong(), currentTicks(), target);
+    }
+    
+    /**
+     * Stores the high and low 64 bits of a new {@link #uniformDistribution()} ID in the first two elements of
+     * {@code target}.
+     */
+    public static void uniformDistribution(long[] target) {
+        set(ThreadLocalRandom.current().nextLong(), currentTicks(), target);
     }
     
     /**
@@ -81,14 +144,203 @@ public final class RandomId {
      * @return a 22-char long URL-safe random identifier
      */
     public static String fullRandom() {
-        Instant now = Instant.now(CLOCK);
-        ByteBuffer buf = ByteBuffer.allocate(16);
         ThreadLocalRandom random = ThreadLocalRandom.current();
-        buf.asLongBuffer()
-            .put(random.nextLong())
-            .put(random.nextLong())
-        ;
-        return CODER.encodeToString(buf.array());
+        return toString(random.nextLong(), random.nextLong());
+    }
+    
+    /**
+     * Writes a new {@link #fullRandom()} ID into {@code target} starting at {@code offset}.
+     */
+    public static void fullRandom(char[] target, int offset) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        encode(random.nextLong(), random.nextLong(), target, offset);
+    }
+    
+    /**
+     * Writes a new {@link #fullRandom()} ID as US-ASCII bytes into {@code target} starting at {@code offset}.
+     */
+    public static void fullRandom(byte[] target, int offset) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        encode(random.nextLong(), random.nextLong(), target, offset);
+    }
+    
+    /**
+     * Appends a new {@link #fullRandom()} ID to {@code target}.
+     *
+     * @return the {@code target} builder
+     */
+    public static StringBuilder fullRandom(StringBuilder target) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return append(random.nextLong(), random.nextLong(), target);
+    }
+    
+    /**
+     * Stores the high and low 64 bits of a new {@link #fullRandom()} ID in the first two elements of {@code target}.
+     */
+    public static void fullRandom(long[] target) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        set(random.nextLong(), random.nextLong(), target);
+    }
+    
+    /**
+     * Similar to {@link #sequential()} but the 128bit numeric values of the generated IDs are strictly increasing
+     * within the JVM, even if they are generated in the same clock tick on different threads or the system clock is set
+     * backwards.
+     * <p><b>The encoded Strings are not ordered the same way</b>, since the URL-safe Base64 alphabet is not in ASCII
+     * order. Use {@link #monotonicSortable()} if the Strings are stored as keys in sorted indexes, or
+     * {@link #monotonic(long[])} and {@link BinaryId#NUMERIC_ORDER} for the binary form.</p>
+     *
+     * @return a 22-char long URL-safe random identifier
+     * @see MonotonicIdGenerator
+     */
+    public static String monotonic() {
+        return MONOTONIC.next();
+    }
+    
+    /**
+     * Similar to {@link #monotonic()} but the ID is encoded {@link #toSortableString(long, long) in sortable form}, so
+     * the lexicographical order of the Strings is the generation order. This makes them suitable as primary keys of
+     * B-tree indexes, where the new keys are appended to the end of the index instead of being inserted at random
+     * positions.
+     *
+     * @return a 22-char long URL-safe identifier, parsed by {@link BinaryId#parseSortable(CharSequence)}
+     */
+    public static String monotonicSortable() {
+        return MONOTONIC.nextSortable();
+    }
+    
+    /**
+     * Stores the high and low 64 bits of a new {@link #monotonic()} ID in the first two elements of {@code target}.
+     */
+    public static void monotonic(long[] target) {
+        MONOTONIC.next(target);
+    }
+    
+    /**
+     * Generates {@code high.length} new {@link #monotonic()} IDs reading the clock only once, storing their high and
+     * low 64 bits in the corresponding elements of the arrays.
+     *
+     * @see MonotonicIdGenerator#fill(long[], long[])
+     */
+    public static void monotonic(long[] high, long[] low) {
+        MONOTONIC.fill(high, low);
+    }
+    
+    /**
+     * Returns an ordered, efficiently splittable stream of {@code count} new {@link #monotonic()} IDs.
+     *
+     * @see MonotonicIdGenerator#stream(long)
+     */
+    public static Stream<String> monotonicStream(long count) {
+        return MONOTONIC.stream(count);
+    }
+    
+    /**
+     * Encodes the 128bit number of the {@code high} and {@code low} 64 bits the same way as the generated IDs are
+     * encoded, which is equivalent to the URL-safe Base64 encoding of their 16 big-endian bytes without padding.
+     *
+     * @return a 22-char long URL-safe identifier
+     */
+    public static String toString(long high, long low) {
+        char[] chars = new char[LENGTH];
+        encode(high, low, chars, 0);
+        return new String(chars);
+    }
+    
+    /**
+     * Writes the encoded form of the 128bit number into {@code target} starting at {@code offset}.
+     *
+     * @see #toString(long, long)
+     */
+    public static void encode(long high, long low, char[] target, int offset) {
+        encode(high, low, target, offset, DIGITS);
+    }
+    
+    /**
+     * Writes the encoded form of the 128bit number as US-ASCII bytes into {@code target} starting at {@code offset}.
+     *
+     * @see #toString(long, long)
+     */
+    public static void encode(long high, long low, byte[] target, int offset) {
+        checkBounds(target.length, offset);
+        for (int i = 0; i < 10; ++i) {
+            target[offset + i] = (byte) DIGITS[(int) (high >>> (58 - 6 * i)) & 63];
+        }
+        target[offset + 10] = (byte) DIGITS[(int) ((high & 15L) << 2 | low >>> 62)];
+        for (int i = 0; i < 10; ++i) {
+            target[offset + 11 + i] = (byte) DIGITS[(int) (low >>> (56 - 6 * i)) & 63];
+        }
+        target[offset + 21] = (byte) DIGITS[(int) (low & 3L) << 4];
+    }
+    
+    /**
+     * Appends the encoded form of the 128bit number to {@code target}.
+     *
+     * @return the {@code target} builder
+     * @see #toString(long, long)
+     */
+    public static StringBuilder append(long high, long low, StringBuilder target) {
+        return append(high, low, target, DIGITS);
+    }
+    
+    /**
+     * Encodes the 128bit number the same way as {@link #toString(long, long)} but with the digits of the URL-safe
+     * Base64 alphabet rearranged in ASCII order ({@code -0-9A-Z_a-z}). The lexicographical order of the sortable
+     * Strings is the unsigned numeric order of the encoded numbers.
+     *
+     * @return a 22-char long URL-safe identifier, parsed by {@link BinaryId#parseSortable(CharSequence)}
+     */
+    public static String toSortableString(long high, long low) {
+        char[] chars = new char[LENGTH];
+        encode(high, low, chars, 0, SORTABLE_DIGITS);
+        return new String(chars);
+    }
+    
+    /**
+     * Appends the sortable encoded form of the 128bit number to {@code target}.
+     *
+     * @return the {@code target} builder
+     * @see #toSortableString(long, long)
+     */
+    public static StringBuilder appendSortable(long high, long low, StringBuilder target) {
+        return append(high, low, target, SORTABLE_DIGITS);
+    }
+    
+    private static void encode(long high, long low, char[] target, int offset, char[] digits) {
+        checkBounds(target.length, offset);
+        for (int i = 0; i < 10; ++i) {
+            target[offset + i] = digits[(int) (high >>> (58 - 6 * i)) & 63];
+        }
+        target[offset + 10] = digits[(int) ((high & 15L) << 2 | low >>> 62)];
+        for (int i = 0; i < 10; ++i) {
+            target[offset + 11 + i] = digits[(int) (low >>> (56 - 6 * i)) & 63];
+        }
+        target[offset + 21] = digits[(int) (low & 3L) << 4];
+    }
+    
+    private static StringBuilder append(long high, long low, StringBuilder target, char[] digits) {
+        for (int i = 0; i < 10; ++i) {
+            target.append(digits[(int) (high >>> (58 - 6 * i)) & 63]);
+        }
+        target.append(digits[(int) ((high & 15L) << 2 | low >>> 62)]);
+        for (int i = 0; i < 10; ++i) {
+            target.append(digits[(int) (low >>> (56 - 6 * i)) & 63]);
+        }
+        return target.append(digits[(int) (low & 3L) << 4]);
+    }
+    
+    private static void set(long high, long low, long[] target) {
+        Failsafe.checkArgument(target.length >= 2, () -> "target.length: " + target.length);
+        target[0] = high;
+        target[1] = low;
+    }
+    
+    private static void checkBounds(int length, int offset) {
+        Failsafe.checkArgument(offset >= 0 && offset <= length - LENGTH, () -> "offset: " + offset);
+    }
+    
+    private static long currentTicks() {
+        return CLOCK.epochNanos() / 100L;
     }
     
 }
@@ -20,12 +20,16 @@ import static java.util.Objects.*;
  * {@link #call()} methods are invoked. Also, the Retry instance can be executed exclusively once, any further attempts
  * would result in an exception due to the same reason. If you need to re-execute a retry operation a new {@link Retry}
  * instance needs to be instantiated.</p>
- * <p>Execution details such as failures and retry attempts are logged using {@link Logger java.util.logging}.</p>
+ * <p>Every attempt can be subject to the permission of a {@link RetryGuard} shared between several retry operations,
+ * e.g. a {@link RetryBudget} or a {@link CircuitBreaker}.</p>
+ * <p>Execution details such as failures and retry attempts are reported to a {@link RetryListener}. By default they are
+ * logged using {@link Logger java.util.logging} by a {@link LoggingRetryListener}.</p>
  */
 @Beta
 public class Retry<T> implements Callable<T>, Runnable {
     
-    private static final Logger log = Logger.getLogger(Retry.class.getName());
+    private static final RetryListener DEFAULT_LISTENER =
+        new LoggingRetryListener(Logger.getLogger(Retry.class.getName()));
     
     /**
      * Executes a {@link Callable} task according to the provided exponential delays (in milliseconds).
@@ -80,15 +84,82 @@ public class Retry<T> implements Callable<T>, Runnable {
         callWithExponentialBackOff(maxRetries, Executors.callable(runnable));
     }
     
+    /**
+     * Executes a {@link Callable} task according to the provided exponential delays (in milliseconds) with every
+     * attempt permitted by the provided {@link RetryGuard}.
+     *
+     * @param task   the callable task
+     * @param delays builder for a delay values stream (in milliseconds)
+     * @param guard  the guard to consult before every attempt (e.g. a shared {@link RetryBudget} or
+     *               {@link CircuitBreaker})
+     * @param <T>    the return value of the callable task
+     * @return the value returned by the first successful execution of the callable task
+     * @throws RejectedExecutionException if the first attempt is not permitted by the guard
+     * @throws RuntimeException           upon permanent failure (after retry attempts are exhausted or refused)
+     */
+    public static <T> T callWithDelays(Callable<T> task, ExponentialDelays.OfLong delays, RetryGuard guard) {
+        Retry<T> retry = new Retry<>(task, delays.build(), guard);
+        return retry.call();
+    }
+    
+    /**
+     * Same as {@link #callWithExponentialBackOff(int, Callable)} with every attempt permitted by the provided
+     * {@link RetryGuard}.
+     *
+     * @see #callWithDelays(Callable, ExponentialDelays.OfLong, RetryGuard)
+     */
+    public static <T> T callWithExponentialBackOff(int maxRetries, Callable<T> task, RetryGuard guard) {
+        return callWithDelays(task, ExponentialDelays
+            .longsFrom(1000L)
+            .limitMaxAttempts(maxRetries + 1), guard);
+    }
+    
+    /**
+     * Same as {@link #runWithDelays(Runnable, ExponentialDelays.OfLong)} with every attempt permitted by the
+     * provided {@link RetryGuard}.
+     *
+     * @see #callWithDelays(Callable, ExponentialDelays.OfLong, RetryGuard)
+     */
+    public static void runWithDelays(Runnable runnable, ExponentialDelays.OfLong delays, RetryGuard guard) {
+        callWithDelays(Executors.callable(runnable), delays, guard);
+    }
+    
+    /**
+     * Same as {@link #runWithExponentialBackOff(int, Runnable)} with every attempt permitted by the provided
+     * {@link RetryGuard}.
+     *
+     * @see #callWithDelays(Callable, ExponentialDelays.OfLong, RetryGuard)
+     */
+    public static void runWithExponentialBackOff(int maxRetries, Runnable runnable, RetryGuard guard) {
+        callWithExponentialBackOff(maxRetries, Executors.callable(runnable), guard);
+    }
+    
     private final Callable<T> task;
     
     private final Spliterator.OfLong delays;
     
+    private final RetryGuard guard;
+    
+    private final RetryListener listener;
+    
     private int retryCount = 0;
     
     public Retry(Callable<T> task, LongStream delays) {
+        this(task, delays, RetryGuard.NONE);
+    }
+    
+    public Retry(Callable<T> task, LongStream delays, RetryGuard guard) {
+        this(task, delays, guard, DEFAULT_LISTENER);
+    }
+    
+    /**
+     * @param listener the listener to report the execution details to, use {@link RetryListener#NONE} to ignore them
+     */
+    public Retry(Callable<T> task, LongStream delays, RetryGuard guard, RetryListener listener) {
         this.task = requireNonNull(task, "task");
         this.delays = requireNonNull(delays, "delays").spliterator();
+        this.guard = requireNonNull(guard, "guard");
+        this.listener = requireNonNull(listener, "listener");
     }
     
     public void run() {
@@ -96,32 +167,67 @@ public class Retry<T> implements Callable<T>, Runnable {
     }
     
     public T call() throws RuntimeException {
+        long started = System.nanoTime();
+        if (!guard.tryAcquire(false)) {
+            RejectedExecutionException rejected = new RejectedExecutionException("Rejected by " + guard);
+            listener.onGiveUp(0, System.nanoTime() - started, rejected);
+            throw rejected;
+        }
         while (true) {
+            long attemptStarted = System.nanoTime();
             try {
-                ++retryCount;
-                return task.call();
+                listener.onAttempt(++retryCount);
+                T result = task.call();
+                guard.onSuccess();
+                listener.onSuccess(retryCount, System.nanoTime() - attemptStarted);
+                return result;
             } catch (CancellationException e) {
-                log.log(Level.SEVERE, "Task canceled", e);
+                guard.release(retryCount > 1);
+                listener.onGiveUp(retryCount, System.nanoTime() - started, e);
+                throw e;
+            } catch (Error e) {
+                // not retried, but the guard and the listener must learn that the operation is over
+                guard.onFailure();
+                listener.onGiveUp(retryCount, System.nanoTime() - started, new ExecutionException(e));
                 throw e;
             } catch (Exception e) {
-                log.log(Level.WARNING, e, () -> retryCount + ". attempt failed");
-                if (!delays.tryAdvance((LongConsumer) this::delay) || Thread.currentThread().isInterrupted()) {
-                    log.log(Level.SEVERE, "Failed permanently: no more retries");
-                    if (e instanceof RuntimeException) {
-                        throw (RuntimeException) e;
-                    }
-                    throw new RuntimeException(e);
+                guard.onFailure();
+                listener.onFailure(retryCount, System.nanoTime() - attemptStarted, e);
+                if (!acquireRetry()) {
+                    listener.onGiveUp(retryCount, System.nanoTime() - started, e);
+                    throw propagate(e);
                 }
             }
         }
     }
     
+    /**
+     * Acquires the permit of the next attempt before waiting for it, so the callers are not blocked by the back-off
+     * when the guard refuses the retry anyway.
+     */
+    private boolean acquireRetry() {
+        if (!guard.tryAcquire(true)) {
+            return false;
+        }
+        if (!delays.tryAdvance((LongConsumer) this::delay) || Thread.currentThread().isInterrupted()) {
+            guard.release(true);
+            return false;
+        }
+        return true;
+    }
+    
+    private static RuntimeException propagate(Exception e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        return new RuntimeException(e);
+    }
+    
     protected void delay(long timeToWait) {
-        log.log(Level.INFO, () -> "Waiting " + printMillis(timeToWait) + " before retrying...");
+        listener.onDelay(retryCount, timeToWait);
         try {
             Thread.sleep(timeToWait);
         } catch (InterruptedException ie) {
-            log.log(Level.FINE, "Interrupted", ie);
             Thread.currentThread().interrupt();
         }
     }
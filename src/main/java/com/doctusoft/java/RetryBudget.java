@@ -0,0 +1,92 @@
+package com.doctusoft.java;
+
+import com.doctusoft.annotation.Beta;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * A thread-safe {@link RetryGuard} limiting the number of retries as a share of the total number of operations. It
+ * works as a token bucket: every operation (first attempt) deposits {@code retryRatio} tokens into the bucket, while
+ * every retry attempt withdraws a whole token from it and is only permitted if there is one available. The bucket
+ * holds at most {@code maxTokens} tokens, which is also the initial balance, so that this amount of retries is always
+ * permitted as a burst.
+ * <p>Sharing a budget between all callers of the same dependency ensures that retries cannot multiply the load during
+ * an outage: the total number of attempts is limited to {@code (1 + retryRatio)} times the number of operations.</p>
+ */
+@Beta
+public final class RetryBudget implements RetryGuard {
+
+    private static final long SCALE = 1000L;
+
+    private final long deposit;
+
+    private final long capacity;
+
+    private final AtomicLong balance;
+
+    /**
+     * @param retryRatio the maximum number of retries permitted per operation in average (e.g. 0.1 for 10%)
+     * @param maxTokens  the capacity of the bucket, the maximum number of retries permitted as a burst
+     */
+    public RetryBudget(double retryRatio, int maxTokens) {
+        Failsafe.checkArgument(retryRatio >= 0.0 && retryRatio <= 1000.0, () -> "retryRatio: " + retryRatio);
+        Failsafe.checkArgument(maxTokens > 0, () -> "maxTokens: " + maxTokens);
+        this.deposit = Math.round(retryRatio * SCALE);
+        this.capacity = maxTokens * SCALE;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    public boolean tryAcquire(boolean retry) {
+        if (retry) {
+            return withdraw();
+        }
+        deposit(deposit);
+        return true;
+    }
+
+    /**
+     * Re-deposits the token withdrawn by a released retry attempt. The deposit of a first attempt is kept.
+     */
+    public void release(boolean retry) {
+        if (retry) {
+            deposit(SCALE);
+        }
+    }
+
+    private void deposit(long amount) {
+        if (amount == 0L) {
+            return;
+        }
+        long current;
+        do {
+            current = balance.get();
+            if (current >= capacity) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(capacity, current + amount)));
+    }
+
+    private boolean withdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    /**
+     * @return the number of whole tokens currently available, i.e. the number of retries permitted right now
+     */
+    public int getAvailableRetries() {
+        return (int) (balance.get() / SCALE);
+    }
+
+    public String toString() {
+        return "RetryBudget{ratio=" + ((double) deposit / SCALE) + ", maxTokens=" + (capacity / SCALE)
+            + ", available=" + getAvailableRetries() + "}";
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.doctusoft.java;
+
+import com.doctusoft.annotation.Beta;
+
+import java.util.*;
+
+/**
+ * A RetryGuard is consulted by {@link Retry} and {@link AsyncRetry} before every attempt and is notified about the
+ * outcome of the permitted attempts. A single guard instance is meant to be shared by all retry operations targeting
+ * the same dependency, thus implementations must be thread-safe.
+ * <p>Every permitted attempt is followed by exactly one of the {@link #onSuccess()}, {@link #onFailure()} or
+ * {@link #release(boolean)} notifications.</p>
+ *
+ * @see RetryBudget
+ * @see CircuitBreaker
+ */
+@Beta
+public interface RetryGuard {
+
+    /**
+     * The guard permitting all attempts.
+     */
+    RetryGuard NONE = retry -> true;
+
+    /**
+     * @param retry {@code false} for the first attempt of an operation, {@code true} for the retry attempts
+     * @return {@code true} if the attempt is permitted
+     */
+    boolean tryAcquire(boolean retry);
+
+    /**
+     * Notification about the success of a permitted attempt.
+     */
+    default void onSuccess() {}
+
+    /**
+     * Notification about the failure of a permitted attempt.
+     */
+    default void onFailure() {}
+
+    /**
+     * Notification about a permitted attempt which completed without its outcome being relevant for the guard (e.g.
+     * the operation was canceled) or which has not been executed at all. Guards treating first attempts and retries
+     * differently can undo the acquisition.
+     *
+     * @param retry the value passed to {@link #tryAcquire(boolean)} when the attempt was permitted
+     */
+    default void release(boolean retry) {}
+
+    /**
+     * Creates a guard which permits an attempt only if all the provided {@code guards} permit it. The guards are
+     * consulted in the given order, the guards which have already permitted an attempt are {@link #release(boolean)
+     * released} when a subsequent guard refuses it.
+     *
+     * @param guards the guards to combine
+     * @return the combined guard
+     */
+    static RetryGuard allOf(RetryGuard... guards) {
+        RetryGuard[] copy = guards.clone();
+        Arrays.stream(copy).forEach(Objects::requireNonNull);
+        switch (copy.length) {
+        case 0:
+            return NONE;
+        case 1:
+            return copy[0];
+        default:
+            return new RetryGuard() {
+
+                public boolean tryAcquire(boolean retry) {
+                    for (int i = 0; i < copy.length; ++i) {
+                        if (!copy[i].tryAcquire(retry)) {
+                            while (--i >= 0) {
+                                copy[i].release(retry);
+                            }
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+
+                public void onSuccess() {
+                    for (RetryGuard guard : copy) {
+                        guard.onSuccess();
+                    }
+                }
+
+                public void onFailure() {
+                    for (RetryGuard guard : copy) {
+                        guard.onFailure();
+                    }
+                }
+
+                public void release(boolean retry) {
+                    for (RetryGuard guard : copy) {
+                        guard.release(retry);
+                    }
+                }
+
+                public String toString() {
+                    return "RetryGuard.allOf" + Arrays.toString(copy);
+                }
+            };
+        }
+    }
+
+}
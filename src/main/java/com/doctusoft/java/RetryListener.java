@@ -0,0 +1,108 @@
+package com.doctusoft.java;
+
+import com.doctusoft.annotation.Beta;
+
+import java.util.*;
+
+/**
+ * Listener interface for observing the execution of {@link Retry} and {@link AsyncRetry} operations. The events carry
+ * primitive values only (besides the exception instances already thrown), so observing the executions does not need
+ * any allocation by itself. All methods have an empty default implementation, so implementations only need to
+ * override the events they are interested in.
+ * <p>A single listener instance may be shared by several retry operations running concurrently, thus implementations
+ * must be thread-safe.</p>
+ *
+ * @see LoggingRetryListener
+ * @see RetryStats
+ */
+@Beta
+public interface RetryListener {
+
+    /**
+     * The listener ignoring all events.
+     */
+    RetryListener NONE = new RetryListener() {};
+
+    /**
+     * @param attempt the number of the attempt starting (1 for the first attempt)
+     */
+    default void onAttempt(int attempt) {}
+
+    /**
+     * @param attempt      the number of the successful attempt
+     * @param elapsedNanos the execution time of the attempt (in nanoseconds)
+     */
+    default void onSuccess(int attempt, long elapsedNanos) {}
+
+    /**
+     * @param attempt      the number of the failed attempt
+     * @param elapsedNanos the execution time of the attempt (in nanoseconds)
+     * @param failure      the exception thrown by the attempt
+     */
+    default void onFailure(int attempt, long elapsedNanos, Exception failure) {}
+
+    /**
+     * @param attempt     the number of the failed attempt which is followed by the delay
+     * @param delayMillis the delay before the next attempt (in milliseconds)
+     */
+    default void onDelay(int attempt, long delayMillis) {}
+
+    /**
+     * @param attempts   the number of attempts made altogether
+     * @param totalNanos the time elapsed since the operation started (in nanoseconds)
+     * @param reason     the exception finishing the operation: the last failure when retries are exhausted or refused,
+     *                   a {@link java.util.concurrent.CancellationException} upon cancellation, a
+     *                   {@link java.util.concurrent.RejectedExecutionException} if no attempt was permitted at all or
+     *                   an {@link java.util.concurrent.ExecutionException} wrapping an {@link Error} thrown by an
+     *                   attempt
+     */
+    default void onGiveUp(int attempts, long totalNanos, Exception reason) {}
+
+    /**
+     * @return a listener forwarding all events to the provided {@code listeners} in the given order
+     */
+    static RetryListener allOf(RetryListener... listeners) {
+        RetryListener[] copy = listeners.clone();
+        Arrays.stream(copy).forEach(Objects::requireNonNull);
+        switch (copy.length) {
+        case 0:
+            return NONE;
+        case 1:
+            return copy[0];
+        default:
+            return new RetryListener() {
+
+                public void onAttempt(int attempt) {
+                    for (RetryListener listener : copy) {
+                        listener.onAttempt(attempt);
+                    }
+                }
+
+                public void onSuccess(int attempt, long elapsedNanos) {
+                    for (RetryListener listener : copy) {
+                        listener.onSuccess(attempt, elapsedNanos);
+                    }
+                }
+
+                public void onFailure(int attempt, long elapsedNanos, Exception failure) {
+                    for (RetryListener listener : copy) {
+                        listener.onFailure(attempt, elapsedNanos, failure);
+                    }
+                }
+
+                public void onDelay(int attempt, long delayMillis) {
+                    for (RetryListener listener : copy) {
+                        listener.onDelay(attempt, delayMillis);
+                    }
+                }
+
+                public void onGiveUp(int attempts, long totalNanos, Exception reason) {
+                    for (RetryListener listener : copy) {
+                        listener.onGiveUp(attempts, totalNanos, reason);
+                    }
+                }
+            };
+        }
+    }
+
+}
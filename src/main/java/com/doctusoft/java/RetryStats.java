@@ -0,0 +1,115 @@
+package com.doctusoft.java;
+
+import com.doctusoft.annotation.Beta;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * {@link RetryListener} implementation collecting counters and latency histograms of retry operations. A single
+ * instance is meant to be shared by all retry operations of the same kind, all methods are thread-safe and lock-free.
+ */
+@Beta
+public final class RetryStats implements RetryListener {
+
+    private final LongAdder attempts = new LongAdder();
+
+    private final LongAdder successes = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder retries = new LongAdder();
+
+    private final LongAdder giveUps = new LongAdder();
+
+    private final LongAdder totalDelayMillis = new LongAdder();
+
+    private final LatencyHistogram attemptLatency = new LatencyHistogram();
+
+    private final LatencyHistogram giveUpLatency = new LatencyHistogram();
+
+    public void onAttempt(int attempt) {
+        attempts.increment();
+    }
+
+    public void onSuccess(int attempt, long elapsedNanos) {
+        successes.increment();
+        attemptLatency.record(elapsedNanos);
+    }
+
+    public void onFailure(int attempt, long elapsedNanos, Exception failure) {
+        failures.increment();
+        attemptLatency.record(elapsedNanos);
+    }
+
+    public void onDelay(int attempt, long delayMillis) {
+        retries.increment();
+        totalDelayMillis.add(delayMillis);
+    }
+
+    public void onGiveUp(int attempts, long totalNanos, Exception reason) {
+        giveUps.increment();
+        giveUpLatency.record(totalNanos);
+    }
+
+    /**
+     * @return the number of attempts started
+     */
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * @return the number of successful attempts, which is the number of successful operations as well
+     */
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    /**
+     * @return the number of failed attempts
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * @return the number of delays waited before retry attempts
+     */
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * @return the number of operations finished without success
+     */
+    public long getGiveUps() {
+        return giveUps.sum();
+    }
+
+    /**
+     * @return the sum of all delays waited before retry attempts (in milliseconds)
+     */
+    public long getTotalDelayMillis() {
+        return totalDelayMillis.sum();
+    }
+
+    /**
+     * @return the histogram of the execution times of the completed attempts (in nanoseconds)
+     */
+    public LatencyHistogram getAttemptLatency() {
+        return attemptLatency;
+    }
+
+    /**
+     * @return the histogram of the total execution times of the operations finished without success (in nanoseconds)
+     */
+    public LatencyHistogram getGiveUpLatency() {
+        return giveUpLatency;
+    }
+
+    public String toString() {
+        return "RetryStats{attempts=" + getAttempts() + ", successes=" + getSuccesses() + ", failures=" + getFailures()
+            + ", retries=" + getRetries() + ", giveUps=" + getGiveUps() + "}";
+    }
+
+}
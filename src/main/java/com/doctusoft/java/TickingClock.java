@@ -0,0 +1,111 @@
+package com.doctusoft.java;
+
+import com.doctusoft.annotation.Beta;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.concurrent.locks.*;
+
+import static java.util.Objects.*;
+
+/**
+ * Coarse-grained {@link Clock} implementation for high-frequency timestamping where millisecond or similar precision
+ * is sufficient. A background daemon thread reads the source clock in every tick of the configured resolution and
+ * publishes the current time (truncated to the resolution) in a volatile field, so reading the clock is a plain
+ * memory read without invoking {@link System#nanoTime()} or allocating any object.
+ * <p>The ticker thread is started upon construction and stopped by {@link #close()}. A closed clock reads the source
+ * clock directly. Clocks returned by {@link #withZone(ZoneId)} share the ticker thread of the original instance.</p>
+ */
+@Beta
+public final class TickingClock extends NanoClock implements AutoCloseable {
+
+    private final Ticker ticker;
+
+    private final ZoneId zone;
+
+    /**
+     * Creates a new instance using a {@link DriftCorrectedClock} as source.
+     *
+     * @param resolution the time elapsed between two ticks, e.g. 1 millisecond
+     */
+    public TickingClock(Duration resolution) {
+        this(new DriftCorrectedClock(), resolution);
+    }
+
+    /**
+     * @param source     the clock to be read in every tick
+     * @param resolution the time elapsed between two ticks, e.g. 1 millisecond
+     */
+    public TickingClock(NanoClock source, Duration resolution) {
+        requireNonNull(source, "source");
+        Failsafe.checkArgument(!resolution.isNegative() && !resolution.isZero(), () -> "resolution: " + resolution);
+        this.ticker = new Ticker(source, resolution.toNanos());
+        this.zone = source.getZone();
+        ticker.start();
+    }
+
+    private TickingClock(Ticker ticker, ZoneId zone) {
+        this.ticker = ticker;
+        this.zone = zone;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new TickingClock(ticker, zone);
+    }
+
+    public long epochNanos() {
+        return ticker.closed ? ticker.source.epochNanos() : ticker.epochNanos;
+    }
+
+    /**
+     * @return the time elapsed between two ticks
+     */
+    public Duration getResolution() {
+        return Duration.ofNanos(ticker.resolutionNanos);
+    }
+
+    /**
+     * Stops the ticker thread. The closed clock reads the source clock directly.
+     */
+    public void close() {
+        ticker.closed = true;
+        LockSupport.unpark(ticker);
+    }
+
+    private static final class Ticker extends Thread {
+
+        private final NanoClock source;
+
+        private final long resolutionNanos;
+
+        private volatile long epochNanos;
+
+        private volatile boolean closed;
+
+        Ticker(NanoClock source, long resolutionNanos) {
+            super("TickingClock-ticker");
+            this.source = source;
+            this.resolutionNanos = resolutionNanos;
+            this.epochNanos = tick();
+            setDaemon(true);
+        }
+
+        public void run() {
+            while (!closed) {
+                epochNanos = tick();
+                LockSupport.parkNanos(this, resolutionNanos);
+            }
+        }
+
+        private long tick() {
+            long now = source.epochNanos();
+            return now - Math.floorMod(now, resolutionNanos);
+        }
+    }
+
+}
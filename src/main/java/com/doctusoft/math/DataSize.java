@@ -2,21 +2,44 @@ package com.doctusoft.math;
 
 import com.doctusoft.java.Failsafe;
 
-import java.text.DecimalFormat;
-
 /**
  * Based on <a href="http://programming.guide/java/formatting-byte-size-to-human-readable-format.html"></a>
+ * <p>The sizes are formatted using integer arithmetic only: the value is divided by the largest power of the unit not
+ * greater than it and rounded to one decimal digit (half-even), omitting the decimal part if it's zero. The decimal
+ * separator is always a '.' character.</p>
+ * <p>The printed sizes can be parsed back with {@link #parse(CharSequence)}, which accepts the suffixes of both
+ * constants.</p>
  */
 public enum DataSize {
     
     SI(1000) {
-        protected String exponent(int exp) {
-            return "kMBTPE".substring(exp - 1, exp);
+        int exponentOf(long size) {
+            int exp = 1;
+            while (exp < SI_POWERS.length - 1 && size >= SI_POWERS[exp + 1]) {
+                ++exp;
+            }
+            return exp;
+        }
+        
+        long divisorOf(int exp) {
+            return SI_POWERS[exp];
+        }
+        
+        void appendExponent(StringBuilder buf, int exp) {
+            buf.append("kMGTPE".charAt(exp - 1));
         }
     },
     BINARY(1 << 10) {
-        protected String exponent(int exp) {
-            return "KMGTPE".charAt(exp - 1) + "i";
+        int exponentOf(long size) {
+            return (63 - Long.numberOfLeadingZeros(size)) / 10;
+        }
+        
+        long divisorOf(int exp) {
+            return 1L << (10 * exp);
+        }
+        
+        void appendExponent(StringBuilder buf, int exp) {
+            buf.append("KMGTPE".charAt(exp - 1)).append('i');
         }
     };
     
@@ -26,19 +49,142 @@ public enum DataSize {
         this.unit = unit;
     }
     
-    protected abstract String exponent(int exp);
+    /**
+     * @param size a size not less than the unit
+     * @return the exponent of the largest power of the unit not greater than {@code size}
+     */
+    abstract int exponentOf(long size);
     
-    public String printBase(long size) {
+    abstract long divisorOf(int exp);
+    
+    abstract void appendExponent(StringBuilder buf, int exp);
+    
+    public void appendBase(StringBuilder buf, long size) {
         Failsafe.checkArgument(size >= 0L, () -> "Negative size: " + size);
-        if (size < (long) unit) return Long.toString(size);
-        int exp = (int) (Math.log(size) / Math.log(unit));
-        double base = size / Math.pow(unit, exp);
-        return DECIMAL_FORMAT.get().format(base) + exponent(exp);
+        if (size < (long) unit) {
+            buf.append(size);
+            return;
+        }
+        int exp = exponentOf(size);
+        long divisor = divisorOf(exp);
+        // the remainder is less than 10^18 or 2^60, so multiplying it by 10 can only overflow into the sign bit
+        long remainder = (size % divisor) * 10L;
+        long tenths = (size / divisor) * 10L + Long.divideUnsigned(remainder, divisor);
+        long rest = Long.remainderUnsigned(remainder, divisor) << 1;
+        if (rest > divisor || rest == divisor && (tenths & 1L) != 0L) {
+            ++tenths;
+        }
+        buf.append(tenths / 10L);
+        if (tenths % 10L != 0L) {
+            buf.append('.').append((char) ('0' + tenths % 10L));
+        }
+        appendExponent(buf, exp);
+    }
+    
+    public void append(StringBuilder buf, long bytes) {
+        appendBase(buf, bytes);
+        buf.append('B');
+    }
+    
+    public String printBase(long size) {
+        StringBuilder buf = new StringBuilder(8);
+        appendBase(buf, size);
+        return buf.toString();
     }
     
     public String print(long bytes) {
-        return printBase(bytes) + "B";
+        StringBuilder buf = new StringBuilder(8);
+        append(buf, bytes);
+        return buf.toString();
+    }
+    
+    /**
+     * Parses a data size printed by any of the constants, e.g. "512kB", "1.5GiB" or "1024". The unit letter is
+     * optional and case-insensitive, it may be followed by an 'i' for the {@link #BINARY} and the 'B' suffix
+     * is optional as well. The fraction part is truncated to whole bytes.
+     *
+     * @return the number of bytes
+     * @throws IllegalArgumentException if the input is not a valid data size or it's greater than
+     *                                  {@link Long#MAX_VALUE} bytes
+     */
+    public static long parse(CharSequence input) {
+        return parse(input, 0, input.length());
     }
     
-    private static final ThreadLocal<DecimalFormat> DECIMAL_FORMAT = ThreadLocal.withInitial(() -> new DecimalFormat("#.#"));
+    /**
+     * Parses a data size from the {@code [from, to)} range of the {@code input} without creating any objects.
+     *
+     * @see #parse(CharSequence)
+     */
+    public static long parse(CharSequence input, int from, int to) {
+        Failsafe.checkArgument(0 <= from && from <= to && to <= input.length(), () -> "[" + from + ", " + to + ")");
+        int i = from;
+        long whole = 0L;
+        while (i < to && isDigit(input.charAt(i))) {
+            int digit = input.charAt(i++) - '0';
+            if (whole > (Long.MAX_VALUE - digit) / 10L) {
+                throw parseFailure(input, from, to);
+            }
+            whole = whole * 10L + digit;
+        }
+        boolean digits = i > from;
+        int fractionFrom = i;
+        int fractionTo = i;
+        if (i < to && input.charAt(i) == '.') {
+            fractionFrom = ++i;
+            while (i < to && isDigit(input.charAt(i))) {
+                ++i;
+            }
+            fractionTo = i;
+            digits |= fractionTo > fractionFrom;
+        }
+        if (!digits) {
+            throw parseFailure(input, from, to);
+        }
+        while (i < to && input.charAt(i) == ' ') {
+            ++i;
+        }
+        int exp = i < to ? "KMGTPE".indexOf(Character.toUpperCase(input.charAt(i))) + 1 : 0;
+        boolean binary = false;
+        if (exp > 0) {
+            ++i;
+            if (i < to && input.charAt(i) == 'i') {
+                binary = true;
+                ++i;
+            }
+        }
+        if (i < to && input.charAt(i) == 'B') {
+            ++i;
+        }
+        if (i != to) {
+            throw parseFailure(input, from, to);
+        }
+        long multiplier = binary ? 1L << (10 * exp) : SI_POWERS[exp];
+        if (whole > Long.MAX_VALUE / multiplier) {
+            throw parseFailure(input, from, to);
+        }
+        // computes floor(multiplier * 0.d1d2...dn) exactly with the Horner method from the last digit, each partial
+        // value is less than 10 * 2^60 fitting into an unsigned long
+        long fraction = 0L;
+        for (int j = fractionTo - 1; j >= fractionFrom; --j) {
+            fraction = Long.divideUnsigned((input.charAt(j) - '0') * multiplier + fraction, 10L);
+        }
+        long size = whole * multiplier + fraction;
+        if (size < 0L) {
+            throw parseFailure(input, from, to);
+        }
+        return size;
+    }
+    
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+    
+    private static IllegalArgumentException parseFailure(CharSequence input, int from, int to) {
+        return new IllegalArgumentException("Failed to parse data size: " + input.subSequence(from, to));
+    }
+    
+    private static final long[] SI_POWERS = {
+        1L, 1_000L, 1_000_000L, 1_000_000_000L, 1_000_000_000_000L, 1_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
 }
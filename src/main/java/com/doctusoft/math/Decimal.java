@@ -1,6 +1,7 @@
 package com.doctusoft.math;
 
 import com.doctusoft.annotation.Beta;
+import com.doctusoft.java.Failsafe;
 
 import static com.doctusoft.java.Failsafe.staticClassInstantiated;
 import static java.lang.Math.abs;
@@ -45,6 +46,114 @@ public final class Decimal {
         return printFixWidth4Internal(abs(value % BASE_POW_4));
     }
     
+    public static void appendFixWidth2(StringBuilder buf, int value) {
+        int pair = abs(value % BASE_POW_2) << 1;
+        buf.append(PAIRS[pair]).append(PAIRS[pair + 1]);
+    }
+    
+    public static void appendFixWidth3(StringBuilder buf, int value) {
+        appendFixWidth(buf, value, 3);
+    }
+    
+    public static void appendFixWidth4(StringBuilder buf, int value) {
+        appendFixWidth(buf, value, 4);
+    }
+    
+    /**
+     * Appends the last {@code width} digits of the absolute value of {@code value} padded with leading zeros.
+     *
+     * @param width the number of digits between 1 and {@link #MAX_WIDTH}
+     */
+    public static void appendFixWidth(StringBuilder buf, long value, int width) {
+        checkWidth(width);
+        int offset = buf.length();
+        buf.setLength(offset + width);
+        writeDigits(buf, BUILDER_SINK, offset, value, width);
+    }
+    
+    /**
+     * Writes the last {@code width} digits of the absolute value of {@code value} padded with leading zeros into
+     * {@code dst} starting at {@code offset}.
+     *
+     * @param width the number of digits between 1 and {@link #MAX_WIDTH}
+     */
+    public static void writeFixWidth(char[] dst, int offset, long value, int width) {
+        checkWidth(width);
+        checkRange(dst.length, offset, width);
+        writeDigits(dst, CHARS_SINK, offset, value, width);
+    }
+    
+    /**
+     * Writes the last {@code width} digits of the absolute value of {@code value} padded with leading zeros as
+     * US-ASCII bytes into {@code dst} starting at {@code offset}.
+     *
+     * @param width the number of digits between 1 and {@link #MAX_WIDTH}
+     */
+    public static void writeFixWidth(byte[] dst, int offset, long value, int width) {
+        checkWidth(width);
+        checkRange(dst.length, offset, width);
+        writeDigits(dst, BYTES_SINK, offset, value, width);
+    }
+    
+    /**
+     * Writes the digits two at a time from the {@link #PAIRS} table, backwards from the end of the
+     * {@code [offset, offset + width)} range of {@code dst}.
+     */
+    private static <T> void writeDigits(T dst, DigitSink<? super T> sink, int offset, long value, int width) {
+        long rest = lastDigits(value, width);
+        int i = offset + width;
+        if (rest < 0L && width > 1) {
+            long quotient = Long.divideUnsigned(rest, BASE_POW_2);
+            int pair = (int) (rest - quotient * BASE_POW_2) << 1;
+            sink.put(dst, --i, PAIRS[pair + 1]);
+            sink.put(dst, --i, PAIRS[pair]);
+            rest = quotient;
+        }
+        for (; i - offset >= 2; rest /= BASE_POW_2) {
+            int pair = (int) (rest % BASE_POW_2) << 1;
+            sink.put(dst, --i, PAIRS[pair + 1]);
+            sink.put(dst, --i, PAIRS[pair]);
+        }
+        if (i > offset) {
+            sink.put(dst, --i, DIGITS[(int) (rest % BASE)]);
+        }
+    }
+    
+    /**
+     * The target of {@link #writeDigits(Object, DigitSink, int, long, int)}, the stateless instances below are shared
+     * so writing the digits does not allocate.
+     */
+    @FunctionalInterface
+    private interface DigitSink<T> {
+        
+        void put(T dst, int index, char digit);
+    }
+    
+    private static final DigitSink<char[]> CHARS_SINK = (dst, index, digit) -> dst[index] = digit;
+    
+    private static final DigitSink<byte[]> BYTES_SINK = (dst, index, digit) -> dst[index] = (byte) digit;
+    
+    private static final DigitSink<StringBuilder> BUILDER_SINK = StringBuilder::setCharAt;
+    
+    /**
+     * @return the last {@code width} digits of the absolute value, negative only for the absolute value of
+     * {@link Long#MIN_VALUE} to be interpreted as unsigned
+     */
+    private static long lastDigits(long value, int width) {
+        long rest = (width < MAX_WIDTH) ? value % POWERS[width] : value;
+        return (rest < 0L) ? -rest : rest;
+    }
+    
+    private static void checkWidth(int width) {
+        Failsafe.checkArgument(width > 0 && width <= MAX_WIDTH, () -> "width: " + width);
+    }
+    
+    private static void checkRange(int length, int offset, int count) {
+        if (offset < 0 || offset > length - count) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", count: " + count + ", length: " + length);
+        }
+    }
+    
     private static String printLast2DigitsInternal(int value) {
         return (value < BASE) ? STR[value] : printFixWidth2Internal(value);
     }
@@ -54,29 +163,18 @@ public final class Decimal {
     }
     
     private static String printFixWidth2Internal(int value) {
-        return new String(new char[] { DIGITS[value / BASE], DIGITS[value % BASE] });
+        return new String(PAIRS, value << 1, 2);
     }
     
     private static String printFixWidth3Internal(int value) {
-        char[] chars = new char[3];
-        chars[2] = DIGITS[value % BASE];
-        value /= BASE;
-        chars[1] = DIGITS[value % BASE];
-        value /= BASE;
-        chars[0] = DIGITS[value];
-        return new String(chars);
+        int pair = (value % BASE_POW_2) << 1;
+        return new String(new char[] { DIGITS[value / BASE_POW_2], PAIRS[pair], PAIRS[pair + 1] });
     }
     
     private static String printFixWidth4Internal(int value) {
-        char[] chars = new char[4];
-        chars[3] = DIGITS[value % BASE];
-        value /= BASE;
-        chars[2] = DIGITS[value % BASE];
-        value /= BASE;
-        chars[1] = DIGITS[value % BASE];
-        value /= BASE;
-        chars[0] = DIGITS[value];
-        return new String(chars);
+        int high = (value / BASE_POW_2) << 1;
+        int low = (value % BASE_POW_2) << 1;
+        return new String(new char[] { PAIRS[high], PAIRS[high + 1], PAIRS[low], PAIRS[low + 1] });
     }
     
     private static final String[] STR = { "0", "1", "2", "3", "4", "5", "6", "7", "8", "9" };
@@ -89,4 +187,27 @@ public final class Decimal {
     private static final int BASE_POW_3 = BASE * BASE_POW_2;
     private static final int BASE_POW_4 = BASE * BASE_POW_3;
     
+    /**
+     * The maximum width of the fix width methods, the number of digits of {@link Long#MAX_VALUE}.
+     */
+    public static final int MAX_WIDTH = 19;
+    
+    private static final long[] POWERS = new long[MAX_WIDTH];
+    
+    /**
+     * The two digits of the numbers 0..99: {@code PAIRS[2 * n]} and {@code PAIRS[2 * n + 1]}.
+     */
+    private static final char[] PAIRS = new char[2 * BASE_POW_2];
+    
+    static {
+        POWERS[0] = 1L;
+        for (int i = 1; i < MAX_WIDTH; ++i) {
+            POWERS[i] = POWERS[i - 1] * BASE;
+        }
+        for (int i = 0; i < BASE_POW_2; ++i) {
+            PAIRS[i << 1] = DIGITS[i / BASE];
+            PAIRS[(i << 1) + 1] = DIGITS[i % BASE];
+        }
+    }
+    
 }
@@ -4,6 +4,7 @@ import com.doctusoft.annotation.Beta;
 import com.doctusoft.java.Failsafe;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 import java.util.stream.*;
 
@@ -64,6 +65,30 @@ public interface ExponentialDelays {
          */
         OfInt limitMaxIncrements(int maxIncrements);
         
+        /**
+         * The delay values returned by the stream under construction will be randomized according to the provided
+         * {@link Jitter} strategy using {@link ThreadLocalRandom}. Any limits applied to the builder (before or after
+         * this invocation) are applied to the delays before randomizing them.
+         *
+         * @param jitter the randomization strategy
+         * @return a new builder randomizing the delay values returned by the stream under construction
+         */
+        default OfInt withJitter(Jitter jitter) {
+            return new IntDelaysWithJitter(this, jitter, ThreadLocalRandom::current);
+        }
+        
+        /**
+         * Same as {@link #withJitter(Jitter)} but the random values are drawn from a {@link Random} instance
+         * initialized with the provided {@code seed} for every stream built, making the delay values reproducible.
+         *
+         * @param jitter the randomization strategy
+         * @param seed   the seed of the random number generator
+         * @return a new builder randomizing the delay values returned by the stream under construction
+         */
+        default OfInt withJitter(Jitter jitter, long seed) {
+            return new IntDelaysWithJitter(this, jitter, () -> new Random(seed));
+        }
+        
         /**
          * @return a new {@link IntStream} instance returning the desired int delay values
          */
@@ -117,6 +142,20 @@ public interface ExponentialDelays {
         
         OfLong limitMaxIncrements(int maxIncrements);
         
+        /**
+         * @see OfInt#withJitter(Jitter)
+         */
+        default OfLong withJitter(Jitter jitter) {
+            return new LongDelaysWithJitter(this, jitter, ThreadLocalRandom::current);
+        }
+        
+        /**
+         * @see OfInt#withJitter(Jitter, long)
+         */
+        default OfLong withJitter(Jitter jitter, long seed) {
+            return new LongDelaysWithJitter(this, jitter, () -> new Random(seed));
+        }
+        
         /**
          * @return a new {@link IntStream} instance returning the desired int delay values
          */
@@ -163,6 +202,77 @@ public interface ExponentialDelays {
         return value < 0L ? Long.MAX_VALUE : value;
     }
     
+    /**
+     * Randomization strategies for spreading the delays of several clients retrying at the same time. Each strategy
+     * maps the original delay values of the stream to random values not larger than the original ones, thus the
+     * original (exponentially increasing and limited) delays work as an envelope for the randomized values.
+     */
+    enum Jitter {
+        
+        /**
+         * The delay is a random value between 0 and the original delay.
+         */
+        FULL {
+            LongUnaryOperator operator(Random random) {
+                return delay -> randomBetween(random, 0L, delay);
+            }
+        },
+        
+        /**
+         * The delay is the half of the original delay plus a random value between 0 and the other half of it.
+         */
+        EQUAL {
+            LongUnaryOperator operator(Random random) {
+                return delay -> {
+                    long half = delay >>> 1;
+                    return delay - half + randomBetween(random, 0L, half);
+                };
+            }
+        },
+        
+        /**
+         * The delay is a random value between the initial delay and the triple of the previous randomized delay, but
+         * never larger than the original delay. The first delay is a random value between the third of the initial
+         * delay and the initial delay, which is the standard {@code [base; 3 * base]} range of the first decorrelated
+         * delay scaled down to stay within the original delays.
+         */
+        DECORRELATED {
+            LongUnaryOperator operator(Random random) {
+                return new LongUnaryOperator() {
+                    
+                    private long base = -1L;
+                    
+                    private long previous;
+                    
+                    public long applyAsLong(long delay) {
+                        if (base < 0L) {
+                            base = delay;
+                            delay = randomBetween(random, (delay + 2L) / 3L, delay);
+                        } else {
+                            long upper = previous > Long.MAX_VALUE / 3L ? Long.MAX_VALUE : previous * 3L;
+                            delay = Math.min(delay, randomBetween(random, base, upper));
+                        }
+                        previous = delay;
+                        return delay;
+                    }
+                };
+            }
+        };
+        
+        /**
+         * @return a new (possibly stateful) operator randomizing the delay values of a single stream
+         */
+        abstract LongUnaryOperator operator(Random random);
+        
+        static long randomBetween(Random random, long lowerBound, long upperBound) {
+            if (upperBound <= lowerBound) {
+                return lowerBound;
+            }
+            double span = (double) (upperBound - lowerBound) + 1.0;
+            return Math.min(upperBound, lowerBound + (long) (random.nextDouble() * span));
+        }
+    }
+    
     class IntDelays implements OfInt {
         
         private final int initialDelay;
@@ -313,6 +423,58 @@ public interface ExponentialDelays {
         }
     }
     
+    class IntDelaysWithJitter implements OfInt {
+        
+        private final OfInt delegate;
+        private final Jitter jitter;
+        private final Supplier<? extends Random> randomSupplier;
+        
+        private IntDelaysWithJitter(OfInt delegate, Jitter jitter, Supplier<? extends Random> randomSupplier) {
+            this.delegate = requireNonNull(delegate);
+            this.jitter = requireNonNull(jitter, "jitter");
+            this.randomSupplier = requireNonNull(randomSupplier);
+        }
+        
+        private OfInt withDelegate(OfInt newDelegate) {
+            if (newDelegate == delegate) {
+                return this;
+            }
+            return new IntDelaysWithJitter(newDelegate, jitter, randomSupplier);
+        }
+        
+        public OfInt limitMaxAttempts(int maxAttempts) {
+            return withDelegate(delegate.limitMaxAttempts(maxAttempts));
+        }
+        
+        public OfInt limitMaxDelay(int maxDelay) {
+            return withDelegate(delegate.limitMaxDelay(maxDelay));
+        }
+        
+        public OfInt limitMaxIncrements(int maxIncrements) {
+            return withDelegate(delegate.limitMaxIncrements(maxIncrements));
+        }
+        
+        public OfInt withJitter(Jitter jitter) {
+            return delegate.withJitter(jitter);
+        }
+        
+        public OfInt withJitter(Jitter jitter, long seed) {
+            return delegate.withJitter(jitter, seed);
+        }
+        
+        public IntStream build() {
+            LongUnaryOperator operator = jitter.operator(randomSupplier.get());
+            return delegate.build().map(delay -> (int) operator.applyAsLong(delay));
+        }
+        
+        /**
+         * @return the configuration of the delays before randomization, since the randomized delays never repeat
+         */
+        public List<Integer> buildConfig() {
+            return delegate.buildConfig();
+        }
+    }
+    
     static void checkMaxDelay(int initialDelay, int maxDelay) {
         Failsafe.checkArgument(maxDelay > initialDelay, () -> "initialDelay: " + initialDelay + " maxDelay: " + maxDelay);
     }
@@ -467,6 +629,57 @@ public interface ExponentialDelays {
         }
     }
     
+    class LongDelaysWithJitter implements OfLong {
+        
+        private final OfLong delegate;
+        private final Jitter jitter;
+        private final Supplier<? extends Random> randomSupplier;
+        
+        private LongDelaysWithJitter(OfLong delegate, Jitter jitter, Supplier<? extends Random> randomSupplier) {
+            this.delegate = requireNonNull(delegate);
+            this.jitter = requireNonNull(jitter, "jitter");
+            this.randomSupplier = requireNonNull(randomSupplier);
+        }
+        
+        private OfLong withDelegate(OfLong newDelegate) {
+            if (newDelegate == delegate) {
+                return this;
+            }
+            return new LongDelaysWithJitter(newDelegate, jitter, randomSupplier);
+        }
+        
+        public OfLong limitMaxAttempts(int maxAttempts) {
+            return withDelegate(delegate.limitMaxAttempts(maxAttempts));
+        }
+        
+        public OfLong limitMaxDelay(long maxDelay) {
+            return withDelegate(delegate.limitMaxDelay(maxDelay));
+        }
+        
+        public OfLong limitMaxIncrements(int maxIncrements) {
+            return withDelegate(delegate.limitMaxIncrements(maxIncrements));
+        }
+        
+        public OfLong withJitter(Jitter jitter) {
+            return delegate.withJitter(jitter);
+        }
+        
+        public OfLong withJitter(Jitter jitter, long seed) {
+            return delegate.withJitter(jitter, seed);
+        }
+        
+        public LongStream build() {
+            return delegate.build().map(jitter.operator(randomSupplier.get()));
+        }
+        
+        /**
+         * @return the configuration of the delays before randomization, since the randomized delays never repeat
+         */
+        public List<Long> buildConfig() {
+            return delegate.buildConfig();
+        }
+    }
+    
     static void checkMaxLongDelay(long initialDelay, long maxDelay) {
         Failsafe.checkArgument(maxDelay > initialDelay, () -> "initialDelay: " + initialDelay + " maxDelay: " + maxDelay);
     }
@@ -3,6 +3,10 @@ package com.doctusoft.math;
 import com.doctusoft.annotation.Beta;
 import com.doctusoft.java.Failsafe;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
 /**
  * Provides specialized implementation for some frequent use-cases of working with hexadecimal interpretation of numbers. 
  * In almost all cases there are more general implementations for these with better flexibility provided but due to that 
@@ -40,12 +44,9 @@ public final class Hexadecimal {
     }
     
     public static void appendFixWidth32bit(StringBuilder buf, int unsignedInt) {
-        int ln = buf.length();
-        buf.append("00000000");
-        for (int i = ln + 7, base = unsignedInt, mod; i >= ln && base != 0; --i) {
-            mod = base & MASK;
-            buf.setCharAt(i, DIGITS[mod]);
-            base >>>= BITS;
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            int pair = ((unsignedInt >>> shift) & BMASK) << 1;
+            buf.append(PAIRS[pair]).append(PAIRS[pair + 1]);
         }
     }
     
@@ -56,14 +57,9 @@ public final class Hexadecimal {
     }
     
     public static void appendFixWidth64bit(StringBuilder buf, long unsignedLong) {
-        int ln = buf.length();
-        buf.append("0000000000000000");
-        long base = unsignedLong;
-        long mod;
-        for (int i = ln + 15; i >= ln && base != 0; --i) {
-            mod = base & LMASK;
-            buf.setCharAt(i, DIGITS[(int) mod]);
-            base >>>= BITS;
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            int pair = ((int) (unsignedLong >>> shift) & BMASK) << 1;
+            buf.append(PAIRS[pair]).append(PAIRS[pair + 1]);
         }
     }
     
@@ -73,6 +69,160 @@ public final class Hexadecimal {
         return buf.toString();
     }
     
+    /**
+     * Encodes {@code length} bytes of {@code src} starting at {@code srcOffset} into {@code 2 * length} lower case
+     * hexadecimal digits of {@code dst} starting at {@code dstOffset}.
+     */
+    public static void encode(byte[] src, int srcOffset, int length, char[] dst, int dstOffset) {
+        checkRange(src.length, srcOffset, length);
+        checkRange(dst.length, dstOffset, length << 1);
+        for (int i = srcOffset, end = srcOffset + length, j = dstOffset; i < end; ++i, j += 2) {
+            int pair = (src[i] & BMASK) << 1;
+            dst[j] = PAIRS[pair];
+            dst[j + 1] = PAIRS[pair + 1];
+        }
+    }
+    
+    /**
+     * Encodes {@code length} bytes of {@code src} starting at {@code srcOffset} into {@code 2 * length} lower case
+     * hexadecimal digits (US-ASCII bytes) of {@code dst} starting at {@code dstOffset}.
+     */
+    public static void encode(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) {
+        checkRange(src.length, srcOffset, length);
+        checkRange(dst.length, dstOffset, length << 1);
+        for (int i = srcOffset, end = srcOffset + length, j = dstOffset; i < end; ++i, j += 2) {
+            int pair = (src[i] & BMASK) << 1;
+            dst[j] = (byte) PAIRS[pair];
+            dst[j + 1] = (byte) PAIRS[pair + 1];
+        }
+    }
+    
+    /**
+     * Encodes {@code length} bytes of {@code src} starting at {@code srcOffset} into {@code 2 * length} lower case
+     * hexadecimal digits (US-ASCII bytes) put into {@code dst} at its current position.
+     *
+     * @throws BufferOverflowException if there is insufficient space remaining in {@code dst}, nothing is written then
+     */
+    public static void encode(byte[] src, int srcOffset, int length, ByteBuffer dst) {
+        checkRange(src.length, srcOffset, length);
+        if (dst.remaining() < length << 1) {
+            throw new BufferOverflowException();
+        }
+        if (dst.hasArray()) {
+            int position = dst.position();
+            encode(src, srcOffset, length, dst.array(), dst.arrayOffset() + position);
+            dst.position(position + (length << 1));
+            return;
+        }
+        for (int i = srcOffset, end = srcOffset + length; i < end; ++i) {
+            int pair = (src[i] & BMASK) << 1;
+            dst.put((byte) PAIRS[pair]);
+            dst.put((byte) PAIRS[pair + 1]);
+        }
+    }
+    
+    /**
+     * Encodes {@code length} longs of {@code src} starting at {@code srcOffset} into {@code 16 * length} lower case
+     * hexadecimal digits of {@code dst} starting at {@code dstOffset}, each long as a fixed width unsigned value.
+     */
+    public static void encode(long[] src, int srcOffset, int length, char[] dst, int dstOffset) {
+        checkRange(src.length, srcOffset, length);
+        checkRange(dst.length, dstOffset, length << 4);
+        for (int i = srcOffset, end = srcOffset + length, j = dstOffset; i < end; ++i) {
+            long value = src[i];
+            for (int shift = 56; shift >= 0; shift -= 8, j += 2) {
+                int pair = ((int) (value >>> shift) & BMASK) << 1;
+                dst[j] = PAIRS[pair];
+                dst[j + 1] = PAIRS[pair + 1];
+            }
+        }
+    }
+    
+    /**
+     * @return the lower case hexadecimal representation of all {@code bytes}
+     */
+    public static String printBytes(byte[] bytes) {
+        char[] chars = new char[bytes.length << 1];
+        encode(bytes, 0, bytes.length, chars, 0);
+        return new String(chars);
+    }
+    
+    /**
+     * @return the lower case hexadecimal representation of all {@code values}, 16 digits each
+     */
+    public static String printLongs(long[] values) {
+        char[] chars = new char[values.length << 4];
+        encode(values, 0, values.length, chars, 0);
+        return new String(chars);
+    }
+    
+    /**
+     * Decodes the hexadecimal digits (case insensitive) in the {@code [from, to)} range of {@code src} into
+     * {@code (to - from) / 2} bytes of {@code dst} starting at {@code dstOffset}.
+     *
+     * @throws IllegalArgumentException if the range has odd length or contains a non-hexadecimal character
+     */
+    public static void decode(CharSequence src, int from, int to, byte[] dst, int dstOffset) {
+        checkDecodeRange(src.length(), from, to);
+        checkRange(dst.length, dstOffset, (to - from) >> 1);
+        for (int i = from, j = dstOffset; i < to; i += 2, ++j) {
+            int high = valueOf(src.charAt(i));
+            int low = valueOf(src.charAt(i + 1));
+            if ((high | low) < 0) {
+                throw invalidDigit(src, (high < 0) ? i : i + 1);
+            }
+            dst[j] = (byte) (high << BITS | low);
+        }
+    }
+    
+    /**
+     * Decodes the hexadecimal digits (case insensitive US-ASCII bytes) in the {@code [from, to)} range of {@code src}
+     * into {@code (to - from) / 2} bytes of {@code dst} starting at {@code dstOffset}.
+     *
+     * @throws IllegalArgumentException if the range has odd length or contains a non-hexadecimal character
+     */
+    public static void decode(byte[] src, int from, int to, byte[] dst, int dstOffset) {
+        checkDecodeRange(src.length, from, to);
+        checkRange(dst.length, dstOffset, (to - from) >> 1);
+        for (int i = from, j = dstOffset; i < to; i += 2, ++j) {
+            int high = valueOf((char) (src[i] & BMASK));
+            int low = valueOf((char) (src[i + 1] & BMASK));
+            if ((high | low) < 0) {
+                throw new IllegalArgumentException("Invalid hexadecimal digit at index " + ((high < 0) ? i : i + 1));
+            }
+            dst[j] = (byte) (high << BITS | low);
+        }
+    }
+    
+    /**
+     * @return the bytes represented by the hexadecimal digits (case insensitive) of {@code hex}
+     * @throws IllegalArgumentException if the input has odd length or contains a non-hexadecimal character
+     */
+    public static byte[] parseBytes(CharSequence hex) {
+        byte[] bytes = new byte[hex.length() >> 1];
+        decode(hex, 0, hex.length(), bytes, 0);
+        return bytes;
+    }
+    
+    private static int valueOf(char c) {
+        return (c < VALUES.length) ? VALUES[c] : -1;
+    }
+    
+    private static void checkRange(int length, int offset, int count) {
+        if (offset < 0 || count < 0 || offset > length - count) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", count: " + count + ", length: " + length);
+        }
+    }
+    
+    private static void checkDecodeRange(int length, int from, int to) {
+        checkRange(length, from, to - from);
+        Failsafe.checkArgument(((to - from) & 1) == 0, () -> "Odd number of hexadecimal digits: " + (to - from));
+    }
+    
+    private static IllegalArgumentException invalidDigit(CharSequence src, int index) {
+        return new IllegalArgumentException("Invalid hexadecimal digit '" + src.charAt(index) + "' at index " + index);
+    }
+    
     private static final int BITS = 4;
     
     private static final int BASE = 16;
@@ -81,10 +231,27 @@ public final class Hexadecimal {
     
     private static final int BMASK = 0x000000ff;
     
-    private static final long LMASK = MASK;
-    
     private static final char[] DIGITS = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
     
     private static final String[] STR = { "0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "a", "b", "c", "d", "e", "f" };
     
+    /**
+     * The two digits of every byte value: {@code PAIRS[2 * b]} and {@code PAIRS[2 * b + 1]}.
+     */
+    private static final char[] PAIRS = new char[512];
+    
+    private static final byte[] VALUES = new byte[128];
+    
+    static {
+        for (int b = 0; b < 256; ++b) {
+            PAIRS[b << 1] = DIGITS[b >>> BITS];
+            PAIRS[(b << 1) + 1] = DIGITS[b & MASK];
+        }
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < BASE; ++i) {
+            VALUES[DIGITS[i]] = (byte) i;
+            VALUES[Character.toUpperCase(DIGITS[i])] = (byte) i;
+        }
+    }
+    
 }
@@ -0,0 +1,166 @@
+package com.doctusoft.math;
+
+import com.doctusoft.annotation.Beta;
+
+import static com.doctusoft.java.Failsafe.checkArgument;
+import static java.util.Objects.*;
+
+/**
+ * Primitive specialization of {@code LeftClosedRange<Integer>}: a range that contains all int values greater than or
+ * equal to its {@code lowerBound} and less than its {@code upperBound}. The bounds are stored as primitive fields
+ * so {@link #contains(int)} is a plain comparison without boxing. {@link IntLeftClosedRange} instances are
+ * <b>immutable</b>, thus thread-safe as well.
+ *
+ * @see LeftClosedRange
+ */
+@Beta
+public final class IntLeftClosedRange implements Interval<Integer> {
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * @return an interval of {@code [lowerBound; upperBound)}
+     * @throws IllegalArgumentException if {@code upperBound <= lowerBound}
+     */
+    public static final IntLeftClosedRange create(int lowerBound, int upperBound) {
+        checkArgument(lowerBound < upperBound, () -> "Invalid LeftClosedRange: " + lowerBound + " >= " + upperBound);
+        return new IntLeftClosedRange(lowerBound, upperBound);
+    }
+    
+    /**
+     * @return the primitive equivalent of the provided generic interval
+     */
+    public static final IntLeftClosedRange from(LeftClosedRange<Integer> range) {
+        return new IntLeftClosedRange(range.getLowerBound(), range.getUpperBound());
+    }
+    
+    /**
+     * Parses the {@code input} in the format of {@link #toString()}, e.g. {@code [4; 17)}.
+     *
+     * @throws IllegalArgumentException if the input is not a valid left-closed range of int values
+     */
+    public static final IntLeftClosedRange parse(String input) {
+        return parse(input, 0, input.length());
+    }
+    
+    /**
+     * Parses the {@code [from, to)} slice of the {@code input} in the format of {@link #toString()} without creating
+     * intermediate {@link String} or boxed instances.
+     *
+     * @throws IllegalArgumentException  if the slice is not a valid left-closed range of int values
+     * @throws IndexOutOfBoundsException if the slice is not within the input
+     */
+    public static final IntLeftClosedRange parse(CharSequence input, int from, int to) {
+        int separatorAt = IntervalNotation.separatorIndex(input, from, to, ')');
+        if (separatorAt < 0) {
+            throw IntervalNotation.invalid("LeftClosedRange", input, from, to);
+        }
+        return create(IntervalNotation.parseInt(input, from + 1, separatorAt),
+            IntervalNotation.parseInt(input, separatorAt + IntervalNotation.SEPARATOR.length(), to - 1));
+    }
+    
+    private final int lowerBound;
+    
+    private final int upperBound;
+    
+    private IntLeftClosedRange(int lowerBound, int upperBound) {
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+    
+    public int getLowerBound() {
+        return lowerBound;
+    }
+    
+    public int getUpperBound() {
+        return upperBound;
+    }
+    
+    /**
+     * @return the number of int values contained by the interval
+     */
+    public long size() {
+        return (long) upperBound - lowerBound;
+    }
+    
+    public boolean isEmpty() {
+        return false;
+    }
+    
+    public boolean contains(int value) {
+        return lowerBound <= value && value < upperBound;
+    }
+    
+    public boolean contains(Integer value) {
+        return contains(requireNonNull(value).intValue());
+    }
+    
+    /**
+     * @return {@code true} if the interval has at least one common contained element with the {@code other} interval
+     */
+    public boolean isConnected(IntLeftClosedRange other) {
+        return lowerBound < other.upperBound && other.lowerBound < upperBound;
+    }
+    
+    /**
+     * @return {@code true} if {@code this} interval is a subset of the {@code other} provided interval
+     */
+    public boolean isSubsetOf(IntLeftClosedRange other) {
+        return other.lowerBound <= lowerBound && upperBound <= other.upperBound;
+    }
+    
+    /**
+     * @return the intersection of {@code this} interval and the {@code other} interval provided
+     * @throws IllegalArgumentException if the intervals are not connected
+     */
+    public IntLeftClosedRange intersection(IntLeftClosedRange other) {
+        if (isSubsetOf(other)) return this;
+        if (other.isSubsetOf(this)) return other;
+        return create(Math.max(lowerBound, other.lowerBound), Math.min(upperBound, other.upperBound));
+    }
+    
+    /**
+     * @return the smallest interval containing both {@code this} and the {@code other} interval
+     */
+    public IntLeftClosedRange extendWithRange(IntLeftClosedRange other) {
+        if (other.isSubsetOf(this)) return this;
+        if (isSubsetOf(other)) return other;
+        return new IntLeftClosedRange(Math.min(lowerBound, other.lowerBound), Math.max(upperBound, other.upperBound));
+    }
+    
+    /**
+     * @return the generic equivalent of this interval
+     */
+    public LeftClosedRange<Integer> toLeftClosedRange() {
+        return LeftClosedRange.create(lowerBound, upperBound);
+    }
+    
+    /**
+     * Replaces the instance by its compact {@link IntervalCodec} form for serialization.
+     */
+    private Object writeReplace() {
+        return IntervalCodec.SerializedForm.replace(this);
+    }
+    
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IntLeftClosedRange)) return false;
+        IntLeftClosedRange that = (IntLeftClosedRange) o;
+        return lowerBound == that.lowerBound && upperBound == that.upperBound;
+    }
+    
+    /**
+     * The hash code is equal to the hash code of the generic equivalent {@link LeftClosedRange}.
+     */
+    public int hashCode() {
+        return 31 * Integer.hashCode(lowerBound) + Integer.hashCode(upperBound);
+    }
+    
+    /**
+     * @return the same representation as the {@link LeftClosedRange#toString()} of the generic equivalent
+     */
+    public String toString() {
+        return "[" + lowerBound + "; " + upperBound + ")";
+    }
+    
+}
@@ -3,6 +3,7 @@ package com.doctusoft.math;
 import com.doctusoft.annotation.Beta;
 
 import java.io.Serializable;
+import java.time.LocalDate;
 import java.util.function.*;
 
 import static java.util.Objects.*;
@@ -61,6 +62,43 @@ public interface Interval<C extends Comparable> extends Serializable {
         }
     }
     
+    /**
+     * Parses a bound value from the {@code [from, to)} slice of a {@link CharSequence}, so the bounds of an interval
+     * notation can be parsed without creating a {@link String} per bound. A {@code char[]} slice can be passed as
+     * {@link java.nio.CharBuffer#wrap(char[], int, int)}.
+     *
+     * @param <C> the type of the parsed bound value
+     */
+    @FunctionalInterface
+    interface BoundParser<C extends Comparable> {
+        
+        C parse(CharSequence input, int from, int to);
+        
+        static BoundParser<Integer> ints() {
+            return IntervalNotation::parseInt;
+        }
+        
+        static BoundParser<Long> longs() {
+            return IntervalNotation::parseLong;
+        }
+        
+        /**
+         * @return parser of ISO-8601 dates with a fast path for the common {@code yyyy-MM-dd} format
+         */
+        static BoundParser<LocalDate> localDates() {
+            return IntervalNotation::parseLocalDate;
+        }
+        
+        /**
+         * @return an adapter of a {@link String} based parser function creating the {@link String} of each bound
+         */
+        static <C extends Comparable> BoundParser<C> of(Function<String, ? extends C> parserFun) {
+            requireNonNull(parserFun);
+            return (input, from, to) -> parserFun.apply(input.subSequence(from, to).toString());
+        }
+        
+    }
+    
     @SuppressWarnings("unchecked")
     static <C extends Comparable> boolean equalValues(C a1, C a2) {
         return a1.compareTo(a2) == 0;
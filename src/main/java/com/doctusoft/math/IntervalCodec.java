@@ -0,0 +1,369 @@
+package com.doctusoft.math;
+
+import com.doctusoft.annotation.Beta;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static com.doctusoft.java.Failsafe.staticClassInstantiated;
+
+/**
+ * Compact binary format of {@link ClosedRange}, {@link LeftClosedRange} and their primitive specializations with
+ * {@link Integer} or {@link Long} bounds. A single interval is written as a tag byte followed by the lower bound as a
+ * zig-zag varint and the length ({@code upperBound - lowerBound}) as an unsigned varint, so small ranges take only a
+ * few bytes. Lists of {@code long} ranges are delta encoded: every lower bound is written relative to the previous
+ * upper bound, which keeps sorted range lists (calendars, ID blocks) at 2-3 bytes per range.
+ *
+ * <p>The same format is used by the serialization proxies of the supported {@link Interval} implementations, so they
+ * are also compact when written by Java serialization.</p>
+ */
+@Beta
+public final class IntervalCodec {
+    
+    private IntervalCodec() {
+        throw staticClassInstantiated();
+    }
+    
+    private static final int LEFT_CLOSED = 0x01;
+    private static final int LONG_BOUNDS = 0x02;
+    private static final int PRIMITIVE = 0x04;
+    private static final int TAG_MASK = LEFT_CLOSED | LONG_BOUNDS | PRIMITIVE;
+    
+    /**
+     * @return {@code true} if the {@code interval} can be written by this codec
+     */
+    public static boolean isSupported(Interval<?> interval) {
+        return tagOf(interval) >= 0;
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the {@code interval} is not supported
+     */
+    public static void write(Interval<?> interval, DataOutput out) throws IOException {
+        int tag = checkedTagOf(interval);
+        long lowerBound = lowerBoundOf(interval);
+        out.writeByte(tag);
+        writeVarLong(out, zigZag(lowerBound));
+        writeVarLong(out, upperBoundOf(interval) - lowerBound);
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the {@code interval} is not supported
+     * @throws java.nio.BufferOverflowException if there is insufficient space remaining in {@code buf}
+     */
+    public static void write(Interval<?> interval, ByteBuffer buf) {
+        int tag = checkedTagOf(interval);
+        long lowerBound = lowerBoundOf(interval);
+        buf.put((byte) tag);
+        writeVarLong(buf, zigZag(lowerBound));
+        writeVarLong(buf, upperBoundOf(interval) - lowerBound);
+    }
+    
+    /**
+     * @return the interval of the same class and bounds as it was written
+     * @throws StreamCorruptedException if the input is not a valid encoded interval
+     */
+    public static Interval<?> read(DataInput in) throws IOException {
+        int tag = in.readUnsignedByte();
+        long lowerBound = unZigZag(readVarLong(in));
+        long length = readVarLong(in);
+        try {
+            return create(tag, lowerBound, lowerBound + length);
+        } catch (IllegalArgumentException e) {
+            throw new StreamCorruptedException(e.getMessage());
+        }
+    }
+    
+    /**
+     * @return the interval of the same class and bounds as it was written
+     * @throws IllegalArgumentException if the input is not a valid encoded interval
+     * @throws java.nio.BufferUnderflowException if the input is incomplete
+     */
+    public static Interval<?> read(ByteBuffer buf) {
+        int tag = buf.get() & 0xff;
+        long lowerBound = unZigZag(readVarLong(buf));
+        return create(tag, lowerBound, lowerBound + readVarLong(buf));
+    }
+    
+    /**
+     * Writes the number of ranges and the delta encoded ranges. Each range is written as its lower bound relative to the
+     * upper bound of the previous range (zig-zag varint) and its length flagged as closed or left-closed (varint).
+     *
+     * @throws IllegalArgumentException if any range is not a supported interval of {@code long} values
+     */
+    public static void writeLongRanges(Collection<? extends Interval<Long>> ranges, DataOutput out) throws IOException {
+        writeVarLong(out, ranges.size());
+        long previous = 0L;
+        for (Interval<Long> range : ranges) {
+            int tag = checkedLongTagOf(range);
+            long lowerBound = lowerBoundOf(range);
+            long upperBound = upperBoundOf(range);
+            writeVarLong(out, zigZag(lowerBound - previous));
+            writeFlaggedVarLong(out, upperBound - lowerBound, (tag & LEFT_CLOSED) != 0);
+            previous = upperBound;
+        }
+    }
+    
+    /**
+     * @see #writeLongRanges(Collection, DataOutput)
+     */
+    public static void writeLongRanges(Collection<? extends Interval<Long>> ranges, ByteBuffer buf) {
+        writeVarLong(buf, ranges.size());
+        long previous = 0L;
+        for (Interval<Long> range : ranges) {
+            int tag = checkedLongTagOf(range);
+            long lowerBound = lowerBoundOf(range);
+            long upperBound = upperBoundOf(range);
+            writeVarLong(buf, zigZag(lowerBound - previous));
+            writeFlaggedVarLong(buf, upperBound - lowerBound, (tag & LEFT_CLOSED) != 0);
+            previous = upperBound;
+        }
+    }
+    
+    /**
+     * @return the ranges written by {@link #writeLongRanges(Collection, DataOutput)} as {@code ClosedRange<Long>} and
+     * {@code LeftClosedRange<Long>} instances
+     * @throws StreamCorruptedException if the input is not a valid encoded list of ranges
+     */
+    public static List<Interval<Long>> readLongRanges(DataInput in) throws IOException {
+        long size = readVarLong(in);
+        if (size < 0L || size > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("Invalid number of ranges: " + Long.toUnsignedString(size));
+        }
+        List<Interval<Long>> result = new ArrayList<>((int) Math.min(size, 1024L));
+        long previous = 0L;
+        for (long i = 0L; i < size; ++i) {
+            long lowerBound = previous + unZigZag(readVarLong(in));
+            int first = in.readUnsignedByte();
+            long length = readFlaggedVarLong(first, in);
+            previous = lowerBound + length;
+            try {
+                result.add(createLongRange((first & 0x01) != 0, lowerBound, previous));
+            } catch (IllegalArgumentException e) {
+                throw new StreamCorruptedException(e.getMessage());
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * @see #readLongRanges(DataInput)
+     * @throws IllegalArgumentException if the input is not a valid encoded list of ranges
+     */
+    public static List<Interval<Long>> readLongRanges(ByteBuffer buf) {
+        long size = readVarLong(buf);
+        if (size < 0L || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid number of ranges: " + Long.toUnsignedString(size));
+        }
+        List<Interval<Long>> result = new ArrayList<>((int) Math.min(size, 1024L));
+        long previous = 0L;
+        for (long i = 0L; i < size; ++i) {
+            long lowerBound = previous + unZigZag(readVarLong(buf));
+            int first = buf.get() & 0xff;
+            long length = readFlaggedVarLong(first, buf);
+            previous = lowerBound + length;
+            result.add(createLongRange((first & 0x01) != 0, lowerBound, previous));
+        }
+        return result;
+    }
+    
+    @SuppressWarnings("rawtypes")
+    private static int tagOf(Interval<?> interval) {
+        if (interval instanceof IntClosedRange) return PRIMITIVE;
+        if (interval instanceof IntLeftClosedRange) return PRIMITIVE | LEFT_CLOSED;
+        if (interval instanceof LongClosedRange) return PRIMITIVE | LONG_BOUNDS;
+        if (interval instanceof LongLeftClosedRange) return PRIMITIVE | LONG_BOUNDS | LEFT_CLOSED;
+        Comparable lowerBound;
+        int tag;
+        if (interval != null && interval.getClass() == ClosedRange.class) {
+            lowerBound = ((ClosedRange) interval).getLowerBound();
+            tag = 0;
+        } else if (interval != null && interval.getClass() == LeftClosedRange.class) {
+            lowerBound = ((LeftClosedRange) interval).getLowerBound();
+            tag = LEFT_CLOSED;
+        } else {
+            return -1;
+        }
+        if (lowerBound instanceof Integer) return tag;
+        if (lowerBound instanceof Long) return tag | LONG_BOUNDS;
+        return -1;
+    }
+    
+    private static int checkedTagOf(Interval<?> interval) {
+        int tag = tagOf(interval);
+        if (tag < 0) {
+            throw new IllegalArgumentException("Unsupported interval: " + interval);
+        }
+        return tag;
+    }
+    
+    private static int checkedLongTagOf(Interval<Long> interval) {
+        int tag = checkedTagOf(interval);
+        if ((tag & LONG_BOUNDS) == 0) {
+            throw new IllegalArgumentException("Not an interval of long values: " + interval);
+        }
+        return tag;
+    }
+    
+    @SuppressWarnings("rawtypes")
+    private static long lowerBoundOf(Interval<?> interval) {
+        if (interval instanceof IntClosedRange) return ((IntClosedRange) interval).getLowerBound();
+        if (interval instanceof IntLeftClosedRange) return ((IntLeftClosedRange) interval).getLowerBound();
+        if (interval instanceof LongClosedRange) return ((LongClosedRange) interval).getLowerBound();
+        if (interval instanceof LongLeftClosedRange) return ((LongLeftClosedRange) interval).getLowerBound();
+        if (interval instanceof ClosedRange) return ((Number) ((ClosedRange) interval).getLowerBound()).longValue();
+        return ((Number) ((LeftClosedRange) interval).getLowerBound()).longValue();
+    }
+    
+    @SuppressWarnings("rawtypes")
+    private static long upperBoundOf(Interval<?> interval) {
+        if (interval instanceof IntClosedRange) return ((IntClosedRange) interval).getUpperBound();
+        if (interval instanceof IntLeftClosedRange) return ((IntLeftClosedRange) interval).getUpperBound();
+        if (interval instanceof LongClosedRange) return ((LongClosedRange) interval).getUpperBound();
+        if (interval instanceof LongLeftClosedRange) return ((LongLeftClosedRange) interval).getUpperBound();
+        if (interval instanceof ClosedRange) return ((Number) ((ClosedRange) interval).getUpperBound()).longValue();
+        return ((Number) ((LeftClosedRange) interval).getUpperBound()).longValue();
+    }
+    
+    private static Interval<?> create(int tag, long lowerBound, long upperBound) {
+        if ((tag & ~TAG_MASK) != 0) {
+            throw new IllegalArgumentException("Invalid interval tag: " + tag);
+        }
+        if ((tag & LONG_BOUNDS) == 0 && (lowerBound != (int) lowerBound || upperBound != (int) upperBound)) {
+            throw new IllegalArgumentException("Invalid int bounds: " + lowerBound + ", " + upperBound);
+        }
+        switch (tag) {
+            case 0: return ClosedRange.create((int) lowerBound, (int) upperBound);
+            case LEFT_CLOSED: return LeftClosedRange.create((int) lowerBound, (int) upperBound);
+            case LONG_BOUNDS: return ClosedRange.create(lowerBound, upperBound);
+            case LONG_BOUNDS | LEFT_CLOSED: return LeftClosedRange.create(lowerBound, upperBound);
+            case PRIMITIVE: return IntClosedRange.create((int) lowerBound, (int) upperBound);
+            case PRIMITIVE | LEFT_CLOSED: return IntLeftClosedRange.create((int) lowerBound, (int) upperBound);
+            case PRIMITIVE | LONG_BOUNDS: return LongClosedRange.create(lowerBound, upperBound);
+            default: return LongLeftClosedRange.create(lowerBound, upperBound);
+        }
+    }
+    
+    private static Interval<Long> createLongRange(boolean leftClosed, long lowerBound, long upperBound) {
+        return leftClosed ? LeftClosedRange.create(lowerBound, upperBound) : ClosedRange.create(lowerBound, upperBound);
+    }
+    
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1L);
+    }
+    
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7fL) != 0L) {
+            out.writeByte((int) (value & 0x7fL) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+    
+    private static void writeVarLong(ByteBuffer buf, long value) {
+        while ((value & ~0x7fL) != 0L) {
+            buf.put((byte) ((value & 0x7fL) | 0x80L));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+    
+    /**
+     * Writes 65 bits: the {@code flag} and the low 6 bits of {@code value} in the first byte, the rest as a varint.
+     */
+    private static void writeFlaggedVarLong(DataOutput out, long value, boolean flag) throws IOException {
+        int first = (flag ? 0x01 : 0x00) | (int) (value & 0x3fL) << 1;
+        long rest = value >>> 6;
+        if (rest == 0L) {
+            out.writeByte(first);
+        } else {
+            out.writeByte(first | 0x80);
+            writeVarLong(out, rest);
+        }
+    }
+    
+    private static void writeFlaggedVarLong(ByteBuffer buf, long value, boolean flag) {
+        int first = (flag ? 0x01 : 0x00) | (int) (value & 0x3fL) << 1;
+        long rest = value >>> 6;
+        if (rest == 0L) {
+            buf.put((byte) first);
+        } else {
+            buf.put((byte) (first | 0x80));
+            writeVarLong(buf, rest);
+        }
+    }
+    
+    private static long readVarLong(DataInput in) throws IOException {
+        long result = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            result |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new StreamCorruptedException("Malformed varint");
+    }
+    
+    private static long readVarLong(ByteBuffer buf) {
+        long result = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = buf.get();
+            result |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+    
+    private static long readFlaggedVarLong(int first, DataInput in) throws IOException {
+        long low = (first >>> 1) & 0x3fL;
+        return ((first & 0x80) == 0) ? low : low | readVarLong(in) << 6;
+    }
+    
+    private static long readFlaggedVarLong(int first, ByteBuffer buf) {
+        long low = (first >>> 1) & 0x3fL;
+        return ((first & 0x80) == 0) ? low : low | readVarLong(buf) << 6;
+    }
+    
+    /**
+     * Serialization proxy of the supported {@link Interval} implementations writing their {@link IntervalCodec} form.
+     */
+    static final class SerializedForm implements Externalizable {
+    
+        private static final long serialVersionUID = 1L;
+    
+        private Interval<?> interval;
+    
+        public SerializedForm() {
+            // for deserialization
+        }
+    
+        SerializedForm(Interval<?> interval) {
+            this.interval = interval;
+        }
+    
+        /**
+         * @return the serialization proxy of the {@code interval} or the {@code interval} itself if not supported
+         */
+        static Object replace(Interval<?> interval) {
+            return isSupported(interval) ? new SerializedForm(interval) : interval;
+        }
+    
+        public void writeExternal(ObjectOutput out) throws IOException {
+            write(interval, out);
+        }
+    
+        public void readExternal(ObjectInput in) throws IOException {
+            interval = read(in);
+        }
+    
+        private Object readResolve() {
+            return interval;
+        }
+    
+    }
+    
+}
@@ -0,0 +1,112 @@
+package com.doctusoft.math;
+
+import java.time.LocalDate;
+
+import static com.doctusoft.java.Failsafe.staticClassInstantiated;
+
+/**
+ * Allocation-free scanning of the {@code [lowerBound; upperBound]} and {@code [lowerBound; upperBound)} notations and of
+ * the primitive bound values within a {@link CharSequence} slice.
+ */
+final class IntervalNotation {
+    
+    private IntervalNotation() {
+        throw staticClassInstantiated();
+    }
+    
+    static final char OPEN_SYMBOL = '[';
+    
+    static final String SEPARATOR = "; ";
+    
+    /**
+     * @return the index of the only separator within the {@code [from, to)} slice enclosed by the open symbol and the
+     * {@code closeSymbol} or {@code -1} if the slice is not in the expected notation or any of the bounds is empty
+     * @throws IndexOutOfBoundsException if the slice is not within the input
+     */
+    static int separatorIndex(CharSequence input, int from, int to, char closeSymbol) {
+        if (from < 0 || to > input.length() || from > to) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + input.length());
+        }
+        if (to - from < 2 + SEPARATOR.length()) return -1;
+        if (input.charAt(from) != OPEN_SYMBOL || input.charAt(to - 1) != closeSymbol) return -1;
+        int found = -1;
+        for (int i = from + 1, end = to - SEPARATOR.length(); i < end; ++i) {
+            if (input.charAt(i) == SEPARATOR.charAt(0) && input.charAt(i + 1) == SEPARATOR.charAt(1)) {
+                if (found >= 0) return -1;
+                found = i++;
+            }
+        }
+        if (found == from + 1 || found + SEPARATOR.length() == to - 1) return -1;
+        return found;
+    }
+    
+    static IllegalArgumentException invalid(String type, CharSequence input, int from, int to) {
+        return new IllegalArgumentException("Invalid " + type + ": " + input.subSequence(from, to));
+    }
+    
+    /**
+     * Equivalent to {@code Integer.parseInt(input.subSequence(from, to).toString())} without creating the string.
+     */
+    static int parseInt(CharSequence input, int from, int to) {
+        long value = parseLong(input, from, to);
+        if (value != (int) value) throw numberFormat(input, from, to);
+        return (int) value;
+    }
+    
+    /**
+     * Equivalent to {@code Long.parseLong(input.subSequence(from, to).toString())} without creating the string.
+     */
+    static long parseLong(CharSequence input, int from, int to) {
+        if (from >= to) throw numberFormat(input, from, to);
+        char first = input.charAt(from);
+        boolean negative = first == '-';
+        int i = (negative || first == '+') ? from + 1 : from;
+        if (i == to) throw numberFormat(input, from, to);
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10L;
+        long result = 0L;
+        // accumulating negatively to cover Long.MIN_VALUE
+        for (; i < to; ++i) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) throw numberFormat(input, from, to);
+            result *= 10L;
+            if (result < limit + digit) throw numberFormat(input, from, to);
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+    
+    /**
+     * Equivalent to {@code LocalDate.parse(input.subSequence(from, to))} with a fast path for the common
+     * {@code yyyy-MM-dd} format.
+     */
+    static LocalDate parseLocalDate(CharSequence input, int from, int to) {
+        if (to - from == 10 && input.charAt(from + 4) == '-' && input.charAt(from + 7) == '-') {
+            int year = digits(input, from, from + 4);
+            int month = digits(input, from + 5, from + 7);
+            int day = digits(input, from + 8, to);
+            if ((year | month | day) >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(input.subSequence(from, to));
+    }
+    
+    /**
+     * @return the value of the decimal digits or {@code -1} if there is a non-digit character
+     */
+    private static int digits(CharSequence input, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; ++i) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+    
+    private static NumberFormatException numberFormat(CharSequence input, int from, int to) {
+        return new NumberFormatException("For input string: \"" + input.subSequence(from, to) + "\"");
+    }
+    
+}
@@ -6,6 +6,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
 import java.util.function.*;
+import java.util.stream.*;
 
 import static com.doctusoft.java.Failsafe.checkArgument;
 import static java.util.Objects.*;
@@ -25,6 +26,8 @@ import static java.util.Objects.*;
 @SuppressWarnings("rawtypes")
 public class LeftClosedRange<C extends Comparable> implements Interval<C> {
     
+    private static final long serialVersionUID = 7151728385395881570L;
+    
     /**
      * Checks if the given parameters could form a valid {@link LeftClosedRange}. This method tolerates {@code null} input values
      * passed and will return {@code false} if any given parameter is {@null}.
@@ -57,18 +60,33 @@ public class LeftClosedRange<C extends Comparable> implements Interval<C> {
      */
     public static final <C extends Comparable> LeftClosedRange<C> parse(String input, Function<String, C> parserFun) {
         requireNonNull(parserFun);
-        parse:
-        {
-            if (input.isEmpty()) break parse;
-            if (input.charAt(0) != OPEN_SYMBOL) break parse;
-            int lastCharAt = input.length() - 1;
-            if (input.charAt(lastCharAt) != CLOSE_SYMBOL) break parse;
-            String[] parts = input.substring(1, lastCharAt).split(SEPARATOR);
-            if (parts.length != 2) break parse;
-            return new LeftClosedRange<>(parserFun.apply(parts[0]), parserFun.apply(parts[1]));
+        return parse(input, 0, input.length(), BoundParser.of(parserFun));
+    }
+    
+    /**
+     * Parses the {@code [from, to)} slice of the {@code input} into a {@link LeftClosedRange} according to its
+     * {@link #toString()} representation or throws {@link IllegalArgumentException} if its not possible or the interval
+     * is not a valid. The separator is searched by hand and the provided bound parser receives the offsets of the
+     * bounds, so no intermediate {@link String} is created for the slice or the bounds (e.g. parsing with
+     * {@link BoundParser#ints()}, {@link BoundParser#longs()} or {@link BoundParser#localDates()}). Any exceptions
+     * thrown by the bound parser will pass through to the caller of this method unchanged.
+     *
+     * @param input       the input containing the interval notation
+     * @param from        the index of the opening bracket
+     * @param to          the index after the closing bracket
+     * @param boundParser parser of the individual bounds
+     * @return the parsed valid left-closed range instance
+     * @throws IndexOutOfBoundsException if the slice is not within the input
+     */
+    public static final <C extends Comparable> LeftClosedRange<C> parse(CharSequence input, int from, int to,
+        BoundParser<? extends C> boundParser) {
+        requireNonNull(boundParser);
+        int separatorAt = IntervalNotation.separatorIndex(input, from, to, CLOSE_SYMBOL);
+        if (separatorAt < 0) {
+            throw IntervalNotation.invalid("LeftClosedRange", input, from, to);
         }
-        throw new IllegalArgumentException("Invalid LeftClosedRange: " + input);
-        
+        return new LeftClosedRange<>(boundParser.parse(input, from + 1, separatorAt),
+            boundParser.parse(input, separatorAt + SEPARATOR.length(), to - 1));
     }
     
     /**
@@ -222,6 +240,13 @@ public class LeftClosedRange<C extends Comparable> implements Interval<C> {
         );
     }
     
+    /**
+     * Replaces the instance by its compact {@link IntervalCodec} form for serialization if its bounds are {@link Integer} or {@link Long} values.
+     */
+    private Object writeReplace() {
+        return IntervalCodec.SerializedForm.replace(this);
+    }
+    
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
@@ -251,6 +276,8 @@ public class LeftClosedRange<C extends Comparable> implements Interval<C> {
     
     private static final String SEPARATOR = "; ";
     
+    private static final BigInteger TWO_POW_64 = BigInteger.ONE.shiftLeft(64);
+    
     private static final char CLOSE_SYMBOL = ')';
     
     @Beta
@@ -274,7 +301,49 @@ public class LeftClosedRange<C extends Comparable> implements Interval<C> {
      * where needed.
      */
     public static final BigInteger countLongs(LeftClosedRange<Long> longRange) {
-        return countBigints(longRange.convert(BigInteger::valueOf));
+        long size = longRange.getUpperBound() - longRange.getLowerBound();
+        return (size > 0L) ? BigInteger.valueOf(size) : BigInteger.valueOf(size).add(TWO_POW_64);
+    }
+    
+    /**
+     * Splits the provided {@code LeftClosedRange<Long>} interval into at most {@code parts} contiguous, non-overlapping
+     * left-closed pieces ordered by their bounds with sizes differing by at most one. Fewer pieces are returned only if
+     * the interval has fewer elements than {@code parts}. Ranges up to the full {@code long} domain are split without
+     * overflow.
+     *
+     * @throws IllegalArgumentException if {@code parts < 1}
+     */
+    public static final List<LeftClosedRange<Long>> split(LeftClosedRange<Long> longRange, int parts) {
+        long lastOffset = longRange.getUpperBound() - longRange.getLowerBound() - 1L;
+        return LongRangeChunks.toList(LongRangeChunks.split(longRange.getLowerBound(), lastOffset, parts,
+            (lowerBound, upperBound) -> create(lowerBound, upperBound + 1L)));
+    }
+    
+    /**
+     * Splits the provided {@code LeftClosedRange<Long>} interval into contiguous, non-overlapping left-closed pieces
+     * ordered by their bounds having exactly {@code maxSize} elements each, except the last one which may have fewer.
+     *
+     * @throws IllegalArgumentException if {@code maxSize < 1} or the number of pieces exceeds the capacity of a list,
+     * use {@link #chunkSpliterator(LeftClosedRange, long)} for those
+     */
+    public static final List<LeftClosedRange<Long>> chunks(LeftClosedRange<Long> longRange, long maxSize) {
+        long lastOffset = longRange.getUpperBound() - longRange.getLowerBound() - 1L;
+        return LongRangeChunks.toList(LongRangeChunks.chunks(longRange.getLowerBound(), lastOffset, maxSize,
+            (lowerBound, upperBound) -> create(lowerBound, upperBound + 1L)));
+    }
+    
+    /**
+     * Lazily produces the same pieces as {@link #chunks(LeftClosedRange, long)} without limiting their number. The
+     * returned {@link Spliterator} splits by halving the remaining pieces, so it is suitable for parallel streams and
+     * fork-join scans over the interval.
+     *
+     * @throws IllegalArgumentException if {@code maxSize < 1}
+     */
+    public static final Spliterator<LeftClosedRange<Long>> chunkSpliterator(LeftClosedRange<Long> longRange,
+        long maxSize) {
+        long lastOffset = longRange.getUpperBound() - longRange.getLowerBound() - 1L;
+        return LongRangeChunks.chunks(longRange.getLowerBound(), lastOffset, maxSize,
+            (lowerBound, upperBound) -> create(lowerBound, upperBound + 1L));
     }
     
     /**
@@ -290,42 +359,72 @@ public class LeftClosedRange<C extends Comparable> implements Interval<C> {
     
     public static class IntElementsSet extends AbstractSet<Integer> {
         
-        private final LeftClosedRange<Integer> range;
         private final int size;
+        private final int lowerBound;
+        private final int upperBound;
         
         public IntElementsSet(LeftClosedRange<Integer> range) {
-            this.range = range;
             this.size = LeftClosedRange.countInts(range).intValueExact();
+            this.lowerBound = range.getLowerBound();
+            this.upperBound = range.getUpperBound();
         }
         
-        public Iterator<Integer> iterator() {
-            class Itr implements Iterator<Integer> {
+        /**
+         * @return an iterator counting the elements without boxing if used as {@link PrimitiveIterator.OfInt}
+         */
+        public PrimitiveIterator.OfInt iterator() {
+            class Itr implements PrimitiveIterator.OfInt {
                 
-                private Integer nextValue = range.getLowerBound();
+                private int index;
                 
                 public boolean hasNext() {
-                    return range.contains(nextValue);
+                    return index < size;
                 }
                 
-                public Integer next() {
+                public int nextInt() {
                     if (!hasNext()) {
                         throw new NoSuchElementException();
                     }
-                    Integer valueToReturn = nextValue;
-                    nextValue = nextValue + 1;
-                    return valueToReturn;
+                    return lowerBound + index++;
+                }
+                
+                public void forEachRemaining(IntConsumer action) {
+                    requireNonNull(action);
+                    for (; index < size; ++index) {
+                        action.accept(lowerBound + index);
+                    }
                 }
             }
             return new Itr();
         }
         
+        /**
+         * @return a {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED}, {@link Spliterator#DISTINCT} and
+         * {@link Spliterator#SORTED} spliterator splitting the range evenly
+         */
+        public Spliterator.OfInt spliterator() {
+            return intStream().spliterator();
+        }
+        
+        public IntStream intStream() {
+            return IntStream.range(lowerBound, upperBound);
+        }
+        
+        public void forEach(Consumer<? super Integer> action) {
+            requireNonNull(action);
+            for (int index = 0; index < size; ++index) {
+                action.accept(lowerBound + index);
+            }
+        }
+        
         public int size() { return size; }
         
         public boolean contains(Object o) {
             if (!(o instanceof Integer)) {
                 return false;
             }
-            return range.contains((Integer) o);
+            int value = (Integer) o;
+            return lowerBound <= value && value < upperBound;
         }
         
         public boolean remove(Object o) { throw new UnsupportedOperationException(); }
@@ -340,42 +439,72 @@ public class LeftClosedRange<C extends Comparable> implements Interval<C> {
     
     public static class LongElementsSet extends AbstractSet<Long> {
         
-        private final LeftClosedRange<Long> range;
         private final int size;
+        private final long lowerBound;
+        private final long upperBound;
         
         public LongElementsSet(LeftClosedRange<Long> range) {
-            this.range = range;
             this.size = LeftClosedRange.countLongs(range).intValueExact();
+            this.lowerBound = range.getLowerBound();
+            this.upperBound = range.getUpperBound();
         }
         
-        public Iterator<Long> iterator() {
-            class Itr implements Iterator<Long> {
+        /**
+         * @return an iterator counting the elements without boxing if used as {@link PrimitiveIterator.OfLong}
+         */
+        public PrimitiveIterator.OfLong iterator() {
+            class Itr implements PrimitiveIterator.OfLong {
                 
-                private Long nextValue = range.getLowerBound();
+                private int index;
                 
                 public boolean hasNext() {
-                    return range.contains(nextValue);
+                    return index < size;
                 }
                 
-                public Long next() {
+                public long nextLong() {
                     if (!hasNext()) {
                         throw new NoSuchElementException();
                     }
-                    Long valueToReturn = nextValue;
-                    nextValue = nextValue + 1;
-                    return valueToReturn;
+                    return lowerBound + index++;
+                }
+                
+                public void forEachRemaining(LongConsumer action) {
+                    requireNonNull(action);
+                    for (; index < size; ++index) {
+                        action.accept(lowerBound + index);
+                    }
                 }
             }
             return new Itr();
         }
         
+        /**
+         * @return a {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED}, {@link Spliterator#DISTINCT} and
+         * {@link Spliterator#SORTED} spliterator splitting the range evenly
+         */
+        public Spliterator.OfLong spliterator() {
+            return longStream().spliterator();
+        }
+        
+        public LongStream longStream() {
+            return LongStream.range(lowerBound, upperBound);
+        }
+        
+        public void forEach(Consumer<? super Long> action) {
+            requireNonNull(action);
+            for (int index = 0; index < size; ++index) {
+                action.accept(lowerBound + index);
+            }
+        }
+        
         public int size() { return size; }
         
         public boolean contains(Object o) {
             if (!(o instanceof Long)) {
                 return false;
             }
-            return range.contains((Long) o);
+            long value = (Long) o;
+            return lowerBound <= value && value < upperBound;
         }
         
         public boolean remove(Object o) { throw new UnsupportedOperationException(); }
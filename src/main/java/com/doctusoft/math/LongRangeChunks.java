@@ -0,0 +1,122 @@
+package com.doctusoft.math;
+
+import java.util.*;
+import java.util.function.*;
+
+import static com.doctusoft.java.Failsafe.checkArgument;
+import static java.util.Objects.*;
+
+/**
+ * Lazily produces the contiguous, non-overlapping pieces of the closed range {@code [lowerBound; lowerBound +
+ * lastOffset]} of {@code long} values. Piece {@code i} starts at offset {@code i * base + min(i, longer)}, so the first
+ * {@code longer} pieces contain one more element than the rest. All offsets and indexes are unsigned, thus ranges of
+ * more than {@link Long#MAX_VALUE} elements, up to the full {@code long} domain, are handled without overflow.
+ *
+ * @param <R> the type of the produced pieces
+ */
+final class LongRangeChunks<R> implements Spliterator<R> {
+    
+    /**
+     * @return the pieces of at most {@code maxSize} elements each, all but the last one having exactly {@code maxSize}
+     */
+    static <R> LongRangeChunks<R> chunks(long lowerBound, long lastOffset, long maxSize,
+        BiFunction<Long, Long, R> factory) {
+        checkArgument(maxSize > 0L, () -> "Invalid chunk size: " + maxSize);
+        long lastIndex = Long.divideUnsigned(lastOffset, maxSize);
+        return new LongRangeChunks<>(lowerBound, lastOffset, maxSize, 0L, lastIndex, 0L, lastIndex, factory);
+    }
+    
+    /**
+     * @return at most {@code parts} pieces with sizes differing by at most one
+     */
+    static <R> LongRangeChunks<R> split(long lowerBound, long lastOffset, int parts, BiFunction<Long, Long, R> factory) {
+        checkArgument(parts > 0, () -> "Invalid number of parts: " + parts);
+        long lastIndex = Long.compareUnsigned(lastOffset, parts) < 0 ? lastOffset : parts - 1L;
+        long pieces = lastIndex + 1L;
+        long base = Long.divideUnsigned(lastOffset, pieces);
+        long longer = Long.remainderUnsigned(lastOffset, pieces) + 1L;
+        if (longer == pieces) {
+            ++base;
+            longer = 0L;
+        }
+        return new LongRangeChunks<>(lowerBound, lastOffset, base, longer, lastIndex, 0L, lastIndex, factory);
+    }
+    
+    /**
+     * @return the list of the pieces
+     * @throws IllegalArgumentException if the number of pieces does not fit into a {@link List}
+     */
+    static <R> List<R> toList(LongRangeChunks<R> chunks) {
+        checkArgument(Long.compareUnsigned(chunks.fence, Integer.MAX_VALUE - 8) < 0,
+            () -> "Too many chunks: " + Long.toUnsignedString(chunks.fence) + " + 1");
+        List<R> result = new ArrayList<>((int) chunks.fence + 1);
+        chunks.forEachRemaining(result::add);
+        return result;
+    }
+    
+    private final long lowerBound;
+    private final long lastOffset;
+    private final long base;
+    private final long longer;
+    private final long lastIndex;
+    private final BiFunction<Long, Long, R> factory;
+    
+    private long index;
+    private final long fence;
+    private boolean exhausted;
+    
+    private LongRangeChunks(long lowerBound, long lastOffset, long base, long longer, long lastIndex, long index,
+        long fence, BiFunction<Long, Long, R> factory) {
+        this.lowerBound = lowerBound;
+        this.lastOffset = lastOffset;
+        this.base = base;
+        this.longer = longer;
+        this.lastIndex = lastIndex;
+        this.index = index;
+        this.fence = fence;
+        this.factory = requireNonNull(factory, "factory");
+    }
+    
+    private long startOffset(long i) {
+        return i * base + (Long.compareUnsigned(i, longer) < 0 ? i : longer);
+    }
+    
+    private R piece(long i) {
+        long start = lowerBound + startOffset(i);
+        long end = (i == lastIndex) ? lowerBound + lastOffset : lowerBound + startOffset(i + 1L) - 1L;
+        return factory.apply(start, end);
+    }
+    
+    public boolean tryAdvance(Consumer<? super R> action) {
+        requireNonNull(action);
+        if (exhausted) return false;
+        action.accept(piece(index));
+        if (index == fence) {
+            exhausted = true;
+        } else {
+            ++index;
+        }
+        return true;
+    }
+    
+    public Spliterator<R> trySplit() {
+        if (exhausted || index == fence) return null;
+        long mid = index + ((fence - index) >>> 1);
+        LongRangeChunks<R> prefix = new LongRangeChunks<>(lowerBound, lastOffset, base, longer, lastIndex, index, mid,
+            factory);
+        index = mid + 1L;
+        return prefix;
+    }
+    
+    public long estimateSize() {
+        if (exhausted) return 0L;
+        long remaining = fence - index;
+        return (remaining < 0L || remaining == Long.MAX_VALUE) ? Long.MAX_VALUE : remaining + 1L;
+    }
+    
+    public int characteristics() {
+        int sized = (Long.compareUnsigned(fence - index, Long.MAX_VALUE) < 0) ? SIZED | SUBSIZED : 0;
+        return ORDERED | DISTINCT | NONNULL | IMMUTABLE | sized;
+    }
+    
+}
@@ -0,0 +1,328 @@
+package com.doctusoft.math;
+
+import com.doctusoft.annotation.Beta;
+
+import java.util.*;
+
+import static com.doctusoft.java.Failsafe.checkArgument;
+
+/**
+ * A set of {@code long} values represented as a normalized list of disjoint, non-adjacent closed ranges ordered by their
+ * bounds. The bounds are stored in primitive arrays, so {@link #contains(long)} is a binary search and the set operations
+ * {@link #union(LongRangeSet)}, {@link #intersection(LongRangeSet)} and {@link #difference(LongRangeSet)} are linear
+ * merges of the two sorted range lists. {@link LongRangeSet} instances are <b>immutable</b>, thus thread-safe as well.
+ *
+ * @see ClosedRange
+ */
+@Beta
+public final class LongRangeSet {
+    
+    private static final LongRangeSet EMPTY = new LongRangeSet(new long[0], new long[0]);
+    
+    public static LongRangeSet empty() {
+        return EMPTY;
+    }
+    
+    /**
+     * @return the set of the values of {@code [lowerBound; upperBound]}
+     * @throws IllegalArgumentException if {@code upperBound < lowerBound}
+     */
+    public static LongRangeSet of(long lowerBound, long upperBound) {
+        checkRange(lowerBound, upperBound);
+        return new LongRangeSet(new long[] { lowerBound }, new long[] { upperBound });
+    }
+    
+    /**
+     * @return the union of the provided ranges, which may be unsorted, overlapping or adjacent
+     */
+    public static LongRangeSet of(Iterable<? extends ClosedRange<Long>> ranges) {
+        Builder builder = builder();
+        ranges.forEach(builder::add);
+        return builder.build();
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Collects ranges in any order and normalizes them upon {@link #build()}. Sorting is skipped if the ranges were added
+     * ordered by their lower bound.
+     */
+    public static final class Builder {
+    
+        private long[] lowerBounds = new long[16];
+        private long[] upperBounds = new long[16];
+        private int size;
+        private boolean sorted = true;
+    
+        private Builder() {
+        }
+    
+        public Builder add(long lowerBound, long upperBound) {
+            checkRange(lowerBound, upperBound);
+            if (size == lowerBounds.length) {
+                lowerBounds = Arrays.copyOf(lowerBounds, size << 1);
+                upperBounds = Arrays.copyOf(upperBounds, size << 1);
+            }
+            if (size > 0 && lowerBound < lowerBounds[size - 1]) {
+                sorted = false;
+            }
+            lowerBounds[size] = lowerBound;
+            upperBounds[size] = upperBound;
+            ++size;
+            return this;
+        }
+    
+        public Builder add(ClosedRange<Long> range) {
+            return add(range.getLowerBound(), range.getUpperBound());
+        }
+    
+        public Builder addAll(LongRangeSet set) {
+            for (int i = 0; i < set.lowerBounds.length; ++i) {
+                add(set.lowerBounds[i], set.upperBounds[i]);
+            }
+            return this;
+        }
+    
+        public LongRangeSet build() {
+            long[] lowers = lowerBounds;
+            long[] uppers = upperBounds;
+            if (!sorted) {
+                Integer[] order = new Integer[size];
+                for (int i = 0; i < size; ++i) {
+                    order[i] = i;
+                }
+                Arrays.sort(order, (i1, i2) -> Long.compare(lowerBounds[i1], lowerBounds[i2]));
+                lowers = new long[size];
+                uppers = new long[size];
+                for (int i = 0; i < size; ++i) {
+                    lowers[i] = lowerBounds[order[i]];
+                    uppers[i] = upperBounds[order[i]];
+                }
+            }
+            Accumulator result = new Accumulator(size);
+            for (int i = 0; i < size; ++i) {
+                result.append(lowers[i], uppers[i]);
+            }
+            return result.toRangeSet();
+        }
+    
+    }
+    
+    private final long[] lowerBounds;
+    
+    private final long[] upperBounds;
+    
+    private LongRangeSet(long[] lowerBounds, long[] upperBounds) {
+        this.lowerBounds = lowerBounds;
+        this.upperBounds = upperBounds;
+    }
+    
+    public boolean isEmpty() {
+        return lowerBounds.length == 0;
+    }
+    
+    /**
+     * @return the number of disjoint ranges of the normalized set
+     */
+    public int rangeCount() {
+        return lowerBounds.length;
+    }
+    
+    /**
+     * @return the {@code index}-th disjoint range ordered by the bounds
+     */
+    public LongClosedRange getRange(int index) {
+        return LongClosedRange.create(lowerBounds[index], upperBounds[index]);
+    }
+    
+    /**
+     * @return the disjoint ranges ordered by their bounds
+     */
+    public List<LongClosedRange> asRanges() {
+        return new AbstractList<LongClosedRange>() {
+    
+            public LongClosedRange get(int index) {
+                return getRange(index);
+            }
+    
+            public int size() {
+                return rangeCount();
+            }
+    
+        };
+    }
+    
+    /**
+     * @return the smallest range containing all values of the set
+     * @throws NoSuchElementException if the set is empty
+     */
+    public LongClosedRange span() {
+        if (isEmpty()) throw new NoSuchElementException();
+        return LongClosedRange.create(lowerBounds[0], upperBounds[upperBounds.length - 1]);
+    }
+    
+    public boolean contains(long value) {
+        int i = floorIndex(value);
+        return i >= 0 && value <= upperBounds[i];
+    }
+    
+    /**
+     * @return {@code true} if all values of {@code [lowerBound; upperBound]} are contained by the set
+     */
+    public boolean encloses(long lowerBound, long upperBound) {
+        checkRange(lowerBound, upperBound);
+        int i = floorIndex(lowerBound);
+        return i >= 0 && upperBound <= upperBounds[i];
+    }
+    
+    /**
+     * @return the index of the last range with lower bound not greater than {@code value} or {@code -1} if none
+     */
+    private int floorIndex(long value) {
+        int i = Arrays.binarySearch(lowerBounds, value);
+        return (i >= 0) ? i : -i - 2;
+    }
+    
+    public LongRangeSet union(LongRangeSet other) {
+        if (other.isEmpty()) return this;
+        if (isEmpty()) return other;
+        Accumulator result = new Accumulator(lowerBounds.length + other.lowerBounds.length);
+        int i = 0;
+        int j = 0;
+        while (i < lowerBounds.length || j < other.lowerBounds.length) {
+            if (j == other.lowerBounds.length
+                || (i < lowerBounds.length && lowerBounds[i] <= other.lowerBounds[j])) {
+                result.append(lowerBounds[i], upperBounds[i]);
+                ++i;
+            } else {
+                result.append(other.lowerBounds[j], other.upperBounds[j]);
+                ++j;
+            }
+        }
+        return result.toRangeSet();
+    }
+    
+    public LongRangeSet intersection(LongRangeSet other) {
+        Accumulator result = new Accumulator(Math.max(lowerBounds.length, other.lowerBounds.length));
+        for (int i = 0, j = 0; i < lowerBounds.length && j < other.lowerBounds.length; ) {
+            long lowerBound = Math.max(lowerBounds[i], other.lowerBounds[j]);
+            long upperBound = Math.min(upperBounds[i], other.upperBounds[j]);
+            if (lowerBound <= upperBound) {
+                result.append(lowerBound, upperBound);
+            }
+            if (upperBounds[i] < other.upperBounds[j]) {
+                ++i;
+            } else {
+                ++j;
+            }
+        }
+        return result.toRangeSet();
+    }
+    
+    /**
+     * @return the set of values contained by {@code this} set but not by the {@code other} set
+     */
+    public LongRangeSet difference(LongRangeSet other) {
+        if (isEmpty() || other.isEmpty()) return this;
+        Accumulator result = new Accumulator(lowerBounds.length + other.lowerBounds.length);
+        int j = 0;
+        for (int i = 0; i < lowerBounds.length; ++i) {
+            long from = lowerBounds[i];
+            long to = upperBounds[i];
+            while (j < other.lowerBounds.length && other.upperBounds[j] < from) {
+                ++j;
+            }
+            boolean covered = false;
+            for (; j < other.lowerBounds.length && other.lowerBounds[j] <= to; ++j) {
+                if (other.lowerBounds[j] > from) {
+                    result.append(from, other.lowerBounds[j] - 1L);
+                }
+                if (other.upperBounds[j] >= to) {
+                    covered = true;
+                    break;
+                }
+                from = other.upperBounds[j] + 1L;
+            }
+            if (!covered) {
+                result.append(from, to);
+            }
+        }
+        return result.toRangeSet();
+    }
+    
+    /**
+     * @return the set of all {@code long} values not contained by this set
+     */
+    public LongRangeSet complement() {
+        return of(Long.MIN_VALUE, Long.MAX_VALUE).difference(this);
+    }
+    
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LongRangeSet)) return false;
+        LongRangeSet that = (LongRangeSet) o;
+        return Arrays.equals(lowerBounds, that.lowerBounds) && Arrays.equals(upperBounds, that.upperBounds);
+    }
+    
+    public int hashCode() {
+        return 31 * Arrays.hashCode(lowerBounds) + Arrays.hashCode(upperBounds);
+    }
+    
+    /**
+     * @return the disjoint ranges in the format of {@link ClosedRange#toString()} enclosed in braces, e.g.
+     * {@code {[1; 5], [7; 9]}}
+     */
+    public String toString() {
+        StringBuilder buf = new StringBuilder().append('{');
+        for (int i = 0; i < lowerBounds.length; ++i) {
+            if (i > 0) buf.append(", ");
+            buf.append('[').append(lowerBounds[i]).append("; ").append(upperBounds[i]).append(']');
+        }
+        return buf.append('}').toString();
+    }
+    
+    private static void checkRange(long lowerBound, long upperBound) {
+        checkArgument(lowerBound <= upperBound, () -> "Invalid ClosedRange: " + lowerBound + " > " + upperBound);
+    }
+    
+    /**
+     * Appends ranges ordered by their lower bound merging the overlapping and adjacent ones.
+     */
+    private static final class Accumulator {
+    
+        private long[] lowerBounds;
+        private long[] upperBounds;
+        private int size;
+    
+        Accumulator(int capacity) {
+            lowerBounds = new long[Math.max(capacity, 1)];
+            upperBounds = new long[Math.max(capacity, 1)];
+        }
+    
+        void append(long lowerBound, long upperBound) {
+            if (size > 0) {
+                long last = upperBounds[size - 1];
+                if (lowerBound <= last || lowerBound - 1L == last) {
+                    upperBounds[size - 1] = Math.max(last, upperBound);
+                    return;
+                }
+            }
+            if (size == lowerBounds.length) {
+                lowerBounds = Arrays.copyOf(lowerBounds, size << 1);
+                upperBounds = Arrays.copyOf(upperBounds, size << 1);
+            }
+            lowerBounds[size] = lowerBound;
+            upperBounds[size] = upperBound;
+            ++size;
+        }
+    
+        LongRangeSet toRangeSet() {
+            if (size == 0) return EMPTY;
+            return new LongRangeSet(Arrays.copyOf(lowerBounds, size), Arrays.copyOf(upperBounds, size));
+        }
+    
+    }
+    
+}
@@ -120,6 +120,116 @@ public final class RepeatedElementList<E> extends AbstractList<E> {
         return new Itr();
     }
     
+    @Override public int indexOf(Object obj) {
+        return element.equals(obj) ? 0 : -1;
+    }
+    
+    @Override public int lastIndexOf(Object obj) {
+        return element.equals(obj) ? size - 1 : -1;
+    }
+    
+    /**
+     * @return a read-only view of the {@code toIndex - fromIndex} identical elements in constant time
+     */
+    @Override public List<E> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size) {
+            throw new IndexOutOfBoundsException("fromIndex=" + fromIndex + ", toIndex=" + toIndex + ", size=" + size);
+        }
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        return repeat(element, toIndex - fromIndex);
+    }
+    
+    @Override public Object[] toArray() {
+        Object[] array = new Object[size];
+        Arrays.fill(array, element);
+        return array;
+    }
+    
+    @Override public <T> T[] toArray(T[] a) {
+        T[] array = (a.length >= size) ? a : Arrays.copyOf(a, size);
+        Arrays.fill(array, 0, size, element);
+        if (array.length > size) {
+            array[size] = null;
+        }
+        return array;
+    }
+    
+    @Override public boolean equals(Object o) {
+        if (o instanceof RepeatedElementList) {
+            RepeatedElementList<?> other = (RepeatedElementList<?>) o;
+            return size == other.size && element.equals(other.element);
+        }
+        return super.equals(o);
+    }
+    
+    /**
+     * Computes the {@link List#hashCode()} in {@code O(log size)} time. Hashing {@code n} identical elements is the
+     * {@code n}-th power of the affine map {@code h -> 31 * h + e}, that is {@code 31^n + e * (31^(n-1) + ... + 1)},
+     * where the power and the geometric sum are computed by binary exponentiation in {@code int} arithmetic.
+     */
+    @Override public int hashCode() {
+        int power = 1;
+        int sum = 0;
+        int basePower = 31;
+        int baseSum = 1;
+        for (int n = size; n > 0; n >>>= 1) {
+            if ((n & 1) != 0) {
+                sum = sum * basePower + baseSum;
+                power *= basePower;
+            }
+            baseSum = baseSum * basePower + baseSum;
+            basePower *= basePower;
+        }
+        return power + element.hashCode() * sum;
+    }
+    
+    /**
+     * @return a {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} spliterator splitting in constant time
+     */
+    @Override public Spliterator<E> spliterator() {
+        
+        class Spl implements Spliterator<E> {
+            
+            private int index;
+            private final int fence;
+            
+            Spl(int index, int fence) {
+                this.index = index;
+                this.fence = fence;
+            }
+            
+            public boolean tryAdvance(Consumer<? super E> action) {
+                requireNonNull(action);
+                if (index >= fence) return false;
+                ++index;
+                action.accept(element);
+                return true;
+            }
+            
+            public void forEachRemaining(Consumer<? super E> action) {
+                requireNonNull(action);
+                for (; index < fence; ++index) {
+                    action.accept(element);
+                }
+            }
+            
+            public Spliterator<E> trySplit() {
+                int mid = (index + fence) >>> 1;
+                if (mid <= index) return null;
+                Spliterator<E> prefix = new Spl(index, mid);
+                index = mid;
+                return prefix;
+            }
+            
+            public long estimateSize() { return fence - index; }
+            
+            public int characteristics() { return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE; }
+        }
+        return new Spl(0, size);
+    }
+    
     @Override public void sort(Comparator<? super E> c) {}
     
     @Override public boolean removeIf(Predicate<? super E> filter) { throw new UnsupportedOperationException(); }
@@ -0,0 +1,280 @@
+package com.doctusoft.math;
+
+import com.doctusoft.annotation.Beta;
+
+import java.util.*;
+import java.util.function.*;
+
+import static java.util.Objects.*;
+
+/**
+ * A read-only {@link List} storing consecutive equal elements as runs of {@code (element, length)} pairs, so the memory
+ * footprint is proportional to the number of runs instead of the number of elements. Random access is a binary search
+ * over the prefix sums of the run lengths, iteration and {@link #forEach(Consumer)} step over the runs. The
+ * {@code null} element is not supported, just like in {@link RepeatedElementList}. All attempts to modify the elements
+ * will result in an {@link UnsupportedOperationException}.
+ *
+ * @param <E> the type parameter of the list
+ * @see RepeatedElementList
+ */
+@Beta
+public final class RunLengthEncodedList<E> extends AbstractList<E> implements RandomAccess {
+    
+    private static final RunLengthEncodedList<Object> EMPTY = new RunLengthEncodedList<>(new Object[0], new int[0]);
+    
+    @SuppressWarnings("unchecked")
+    public static <E> RunLengthEncodedList<E> empty() {
+        return (RunLengthEncodedList<E>) EMPTY;
+    }
+    
+    /**
+     * @return the run-length encoded copy of the {@code elements} merging the consecutive equal elements
+     */
+    public static <E> RunLengthEncodedList<E> copyOf(Iterable<? extends E> elements) {
+        return RunLengthEncodedList.<E> builder().addAll(elements).build();
+    }
+    
+    public static <E> Builder<E> builder() {
+        return new Builder<>();
+    }
+    
+    /**
+     * Collects runs of elements merging the consecutive equal elements (by {@link Object#equals(Object)}) into one run.
+     *
+     * @param <E> the type parameter of the built list
+     */
+    public static final class Builder<E> {
+    
+        private Object[] elements = new Object[8];
+        private int[] ends = new int[8];
+        private int runs;
+    
+        private Builder() {
+        }
+    
+        public Builder<E> add(E element) {
+            return addRun(element, 1);
+        }
+    
+        /**
+         * Appends {@code length} copies of {@code element}, nothing if {@code length} is {@code 0}.
+         *
+         * @throws IllegalArgumentException if {@code length} is negative or the size of the list would overflow
+         */
+        public Builder<E> addRun(E element, int length) {
+            requireNonNull(element, "element");
+            if (length < 0) {
+                throw new IllegalArgumentException("length < 0");
+            }
+            if (length == 0) return this;
+            int end = (runs == 0) ? 0 : ends[runs - 1];
+            if (end + length < 0) {
+                throw new IllegalArgumentException("Integer overflow");
+            }
+            if (runs > 0 && elements[runs - 1].equals(element)) {
+                ends[runs - 1] = end + length;
+                return this;
+            }
+            if (runs == elements.length) {
+                elements = Arrays.copyOf(elements, runs << 1);
+                ends = Arrays.copyOf(ends, runs << 1);
+            }
+            elements[runs] = element;
+            ends[runs] = end + length;
+            ++runs;
+            return this;
+        }
+    
+        /**
+         * Appends all {@code elements}, the runs of a {@link RepeatedElementList} or a {@link RunLengthEncodedList} are
+         * appended without iterating over their elements one by one.
+         */
+        @SuppressWarnings("unchecked")
+        public Builder<E> addAll(Iterable<? extends E> elements) {
+            if (elements instanceof RepeatedElementList) {
+                RepeatedElementList<? extends E> run = (RepeatedElementList<? extends E>) elements;
+                return addRun(run.get(0), run.size());
+            }
+            if (elements instanceof RunLengthEncodedList) {
+                RunLengthEncodedList<? extends E> list = (RunLengthEncodedList<? extends E>) elements;
+                for (int i = 0; i < list.elements.length; ++i) {
+                    addRun((E) list.elements[i], list.runLength(i));
+                }
+                return this;
+            }
+            elements.forEach(this::add);
+            return this;
+        }
+    
+        public RunLengthEncodedList<E> build() {
+            if (runs == 0) return empty();
+            return new RunLengthEncodedList<>(Arrays.copyOf(elements, runs), Arrays.copyOf(ends, runs));
+        }
+    
+    }
+    
+    private final Object[] elements;
+    
+    /**
+     * The prefix sums of the run lengths: {@code ends[i]} is the index after the last element of the {@code i}-th run.
+     */
+    private final int[] ends;
+    
+    private RunLengthEncodedList(Object[] elements, int[] ends) {
+        this.elements = elements;
+        this.ends = ends;
+    }
+    
+    public int size() {
+        return (ends.length == 0) ? 0 : ends[ends.length - 1];
+    }
+    
+    public E get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index=" + index + ", size=" + size());
+        }
+        return elementOf(runAt(index));
+    }
+    
+    /**
+     * @return the number of runs of equal elements
+     */
+    public int runCount() {
+        return elements.length;
+    }
+    
+    /**
+     * @return a read-only view of the runs of equal elements
+     */
+    public List<RepeatedElementList<E>> runs() {
+        return new AbstractList<RepeatedElementList<E>>() {
+    
+            public RepeatedElementList<E> get(int index) {
+                return new RepeatedElementList<>(elementOf(index), runLength(index));
+            }
+    
+            public int size() {
+                return runCount();
+            }
+    
+        };
+    }
+    
+    /**
+     * @return the index of the run containing the element at {@code index}
+     */
+    private int runAt(int index) {
+        int i = Arrays.binarySearch(ends, index);
+        return (i >= 0) ? i + 1 : -i - 1;
+    }
+    
+    private int runStart(int run) {
+        return (run == 0) ? 0 : ends[run - 1];
+    }
+    
+    private int runLength(int run) {
+        return ends[run] - runStart(run);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private E elementOf(int run) {
+        return (E) elements[run];
+    }
+    
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+    
+    public int indexOf(Object o) {
+        for (int i = 0; i < elements.length; ++i) {
+            if (elements[i].equals(o)) return runStart(i);
+        }
+        return -1;
+    }
+    
+    public int lastIndexOf(Object o) {
+        for (int i = elements.length - 1; i >= 0; --i) {
+            if (elements[i].equals(o)) return ends[i] - 1;
+        }
+        return -1;
+    }
+    
+    public void forEach(Consumer<? super E> action) {
+        requireNonNull(action);
+        for (int i = 0, index = 0; i < elements.length; ++i) {
+            E element = elementOf(i);
+            for (int end = ends[i]; index < end; ++index) {
+                action.accept(element);
+            }
+        }
+    }
+    
+    public Iterator<E> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+    
+    /**
+     * @return a {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} spliterator stepping over the runs and
+     * splitting at the middle index
+     */
+    public Spliterator<E> spliterator() {
+        return new RunSpliterator(0, size());
+    }
+    
+    private final class RunSpliterator implements Spliterator<E> {
+    
+        private int index;
+        private final int fence;
+        private int run;
+    
+        RunSpliterator(int index, int fence) {
+            this.index = index;
+            this.fence = fence;
+            this.run = (index < fence) ? runAt(index) : 0;
+        }
+    
+        public boolean tryAdvance(Consumer<? super E> action) {
+            requireNonNull(action);
+            if (index >= fence) return false;
+            if (index >= ends[run]) ++run;
+            ++index;
+            action.accept(elementOf(run));
+            return true;
+        }
+    
+        public void forEachRemaining(Consumer<? super E> action) {
+            requireNonNull(action);
+            for (; index < fence; ++run) {
+                E element = elementOf(run);
+                for (int end = Math.min(ends[run], fence); index < end; ++index) {
+                    action.accept(element);
+                }
+            }
+        }
+    
+        public Spliterator<E> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) return null;
+            Spliterator<E> prefix = new RunSpliterator(index, mid);
+            index = mid;
+            run = runAt(mid);
+            return prefix;
+        }
+    
+        public long estimateSize() {
+            return fence - index;
+        }
+    
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    
+    }
+    
+    @Override public void sort(Comparator<? super E> c) { throw new UnsupportedOperationException(); }
+    
+    @Override public boolean removeIf(Predicate<? super E> filter) { throw new UnsupportedOperationException(); }
+    
+    @Override public void replaceAll(UnaryOperator<E> operator) { throw new UnsupportedOperationException(); }
+    
+}
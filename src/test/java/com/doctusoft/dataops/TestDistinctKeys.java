@@ -0,0 +1,76 @@
+package com.doctusoft.dataops;
+
+import com.doctusoft.java.AnException;
+import com.doctusoft.java.LambdAssert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.*;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+public final class TestDistinctKeys {
+    
+    private static final List<String> WORDS = asList("alma", "Alma", "alma", "bor", "BOR", "cukor", "dinnye", "Dinnye");
+    
+    private static Entries<String, Integer> sortedEntries() {
+        return Entries.lookupKeys(WORDS, WORDS::indexOf);
+    }
+    
+    @Test
+    public void testDistinctKeys() {
+        new EntriesTester<>(sortedEntries().distinctKeys())
+            .assertNext("alma", 0)
+            .assertNext("Alma", 1)
+            .assertNext("alma", 0)
+            .assertNext("bor", 3)
+            .assertNext("BOR", 4)
+            .assertNext("cukor", 5)
+            .assertNext("dinnye", 6)
+            .assertNext("Dinnye", 7)
+            .assertNoMore();
+    }
+    
+    @Test
+    public void testDistinctKeysKeepFirst() {
+        new EntriesTester<>(sortedEntries().distinctKeys(String.CASE_INSENSITIVE_ORDER))
+            .assertNext("alma", 0)
+            .assertNext("bor", 3)
+            .assertNext("cukor", 5)
+            .assertNext("dinnye", 6)
+            .assertNoMore()
+            .assertNoMore();
+    }
+    
+    @Test
+    public void testDistinctKeysKeepLast() {
+        new EntriesTester<>(sortedEntries().distinctKeysKeepLast(String.CASE_INSENSITIVE_ORDER))
+            .assertNext("alma", 0)
+            .assertNext("BOR", 4)
+            .assertNext("cukor", 5)
+            .assertNext("Dinnye", 7)
+            .assertNoMore()
+            .assertNoMore();
+        new EntriesTester<>(Entries.<String, Integer> forMap(new HashMap<>()).distinctKeysKeepLast())
+            .assertNoMore();
+        new EntriesTester<>(Entries.lookupKeys(asList("a", "b", "b"), String::length).distinctKeysKeepLast())
+            .assertNext("a", 1)
+            .assertNext("b", 1)
+            .assertNoMore();
+    }
+    
+    @Test
+    public void testDistinctKeysWithin() {
+        List<Integer> keys = asList(1, 2, 1, 3, 2, 4, 5, 1, 6, 7, 8, 1);
+        assertEquals(asList(1, 2, 3, 4, 5, 6, 7, 8), Entries.lookupKeys(keys, k -> k)
+            .distinctKeysWithin(8).stream((k, v) -> k).collect(Collectors.toList()));
+        assertEquals(asList(1, 2, 3, 4, 5, 1, 6, 7, 8, 1), Entries.lookupKeys(keys, k -> k)
+            .distinctKeysWithin(3).stream((k, v) -> k).collect(Collectors.toList()));
+        assertEquals(asList(1, 2, 3, 2, 4, 5, 1, 6, 7, 8, 1), Entries.lookupKeys(keys, k -> k)
+            .distinctKeysWithin(2).stream((k, v) -> k).collect(Collectors.toList()));
+        LambdAssert.assertThrows(() -> sortedEntries().distinctKeysWithin(0),
+            AnException.of(IllegalArgumentException.class));
+    }
+    
+}
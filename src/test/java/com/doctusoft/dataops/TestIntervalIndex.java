@@ -0,0 +1,110 @@
+package com.doctusoft.dataops;
+
+import com.doctusoft.java.AnException;
+import com.doctusoft.java.LambdAssert;
+import com.doctusoft.math.*;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+import static org.junit.Assert.*;
+
+public final class TestIntervalIndex {
+    
+    @Test
+    public void testEmpty() {
+        IntervalIndex<Integer, String> index = IntervalIndex.fromEntries(Entries.forMap(emptyMap()));
+        assertEquals(0, index.size());
+        assertEquals(emptyList(), index.findAllContaining(1));
+        assertFalse(index.findFirstContaining(1).isPresent());
+    }
+    
+    @Test
+    public void testBounds() {
+        Map<Interval<Integer>, String> map = new LinkedHashMap<>();
+        map.put(ClosedRange.create(1, 5), "closed");
+        map.put(LeftClosedRange.create(5, 9), "leftClosed");
+        map.put(IntClosedRange.singleValue(9), "single");
+        IntervalIndex<Integer, String> index = IntervalIndex.fromEntries(Entries.forMap(map));
+        assertEquals(emptyList(), index.findAllContaining(0));
+        assertEquals(asList("closed"), index.findAllContaining(1));
+        assertEquals(asList("closed", "leftClosed"), index.findAllContaining(5));
+        assertEquals(asList("single"), index.findAllContaining(9));
+        assertEquals(Optional.of("leftClosed"), index.findFirstContaining(8));
+        assertEquals(asList("closed"), index.findAllOverlapping(LeftClosedRange.create(0, 5)));
+        assertEquals(asList("closed", "leftClosed"), index.findAllOverlapping(ClosedRange.create(0, 5)));
+        assertEquals(asList("leftClosed", "single"), index.findAllOverlapping(ClosedRange.create(6, 20)));
+    }
+    
+    @Test
+    public void testUnsupportedInterval() {
+        Interval<Integer> interval = new Interval<Integer>() {
+            public boolean isEmpty() { return false; }
+            public boolean contains(Integer value) { return true; }
+        };
+        LambdAssert.assertThrows(() -> IntervalIndex.fromEntries(Entries.forMap(singletonMap(interval, "x"))),
+            AnException.of(IllegalArgumentException.class));
+    }
+    
+    @Test
+    public void testRandom() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<Interval<Long>, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < 500; ++i) {
+            long lowerBound = random.nextLong(1000L);
+            long upperBound = lowerBound + 1L + random.nextLong(100L);
+            map.put(random.nextBoolean() ? ClosedRange.create(lowerBound, upperBound)
+                : LeftClosedRange.create(lowerBound, upperBound), i);
+        }
+        IntervalIndex<Long, Integer> index = IntervalIndex.fromEntries(Entries.forMap(map));
+        LongIntervalIndex<Integer> longIndex = LongIntervalIndex.fromEntries(Entries.forMap(map));
+        assertEquals(map.size(), index.size());
+        assertEquals(map.size(), longIndex.size());
+        for (int i = 0; i < 200; ++i) {
+            long point = random.nextLong(-10L, 1200L);
+            Set<Integer> expected = map.entrySet().stream()
+                .filter(e -> e.getKey().contains(point))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toSet());
+            assertEquals(expected, new HashSet<>(index.findAllContaining(point)));
+            assertEquals(expected, new HashSet<>(longIndex.findAllContaining(point)));
+            assertEquals(index.findAllContaining(point), longIndex.findAllContaining(point));
+            assertEquals(index.findFirstContaining(point), longIndex.findFirstContaining(point));
+            ClosedRange<Long> range = ClosedRange.create(point, point + random.nextLong(50L));
+            Set<Integer> overlapping = map.entrySet().stream()
+                .filter(e -> LongStream.rangeClosed(range.getLowerBound(), range.getUpperBound()).anyMatch(e.getKey()::contains))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toSet());
+            assertEquals(overlapping, new HashSet<>(index.findAllOverlapping(range)));
+            assertEquals(index.findAllOverlapping(range), longIndex.findAllOverlapping(range));
+        }
+        long[] points = random.longs(300, -10L, 1200L).sorted().toArray();
+        Map<Long, Set<Integer>> expected = new HashMap<>();
+        for (long point : points) {
+            expected.put(point, new HashSet<>(index.findAllContaining(point)));
+        }
+        Map<Long, Set<Integer>> swept = new HashMap<>();
+        Map<Long, Set<Integer>> longSwept = new HashMap<>();
+        for (long point : points) {
+            swept.put(point, new HashSet<>());
+            longSwept.put(point, new HashSet<>());
+        }
+        index.forEachContainingSorted(LongStream.of(points).boxed().iterator(), (p, v) -> swept.get(p).add(v));
+        longIndex.forEachContainingSorted(points, (v, p) -> longSwept.get(p).add(v));
+        assertEquals(expected, swept);
+        assertEquals(expected, longSwept);
+    }
+    
+    @Test
+    public void testUnsortedPoints() {
+        LongIntervalIndex<String> index = LongIntervalIndex.fromEntries(
+            Entries.forMap(singletonMap(LongClosedRange.create(0L, 10L), "x")));
+        LambdAssert.assertThrows(() -> index.forEachContainingSorted(new long[] { 2L, 1L }, (v, p) -> {}),
+            AnException.of(IllegalArgumentException.class));
+    }
+    
+}
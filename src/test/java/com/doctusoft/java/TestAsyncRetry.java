@@ -0,0 +1,109 @@
+package com.doctusoft.java;
+
+import com.doctusoft.math.ExponentialDelays;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.stream.*;
+
+import static org.junit.Assert.*;
+
+public class TestAsyncRetry {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void succeedsAfterFailures() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> future = AsyncRetry.callWithDelays(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IllegalStateException("failure #" + calls.get());
+            }
+            return "OK";
+        }, ExponentialDelays.longs().limitMaxAttempts(5), scheduler);
+        assertEquals("OK", future.get(5, TimeUnit.SECONDS));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void failsPermanentlyWhenRetriesExhausted() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Object> future = AsyncRetry.callWithDelays(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("always");
+        }, ExponentialDelays.longs().limitMaxAttempts(2), scheduler);
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected failure");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void errorFailsGuard() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ZERO);
+        assertTrue(breaker.tryAcquire(false));
+        breaker.onFailure();
+        CompletableFuture<Object> future = new AsyncRetry<>(() -> {
+            throw new AssertionError();
+        }, LongStream.of(0L), scheduler, breaker).start();
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected error");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof AssertionError);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void cancellationExceptionIsNotRetried() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Object> future = AsyncRetry.callWithDelays(() -> {
+            calls.incrementAndGet();
+            throw new CancellationException();
+        }, ExponentialDelays.longs().limitMaxAttempts(5), scheduler);
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected cancellation");
+        } catch (CancellationException e) {
+            // expected
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void cancelStopsFurtherAttempts() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch firstAttempt = new CountDownLatch(1);
+        AsyncRetry<Object> retry = new AsyncRetry<>(() -> {
+            calls.incrementAndGet();
+            firstAttempt.countDown();
+            throw new IllegalStateException();
+        }, LongStream.of(60_000L), scheduler);
+        CompletableFuture<Object> future = retry.start();
+        assertTrue(firstAttempt.await(5, TimeUnit.SECONDS));
+        assertTrue(future.cancel(false));
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void cannotStartTwice() {
+        AsyncRetry<String> retry = new AsyncRetry<>(() -> "OK", LongStream.empty(), scheduler);
+        retry.start();
+        LambdAssert.assertThrows(() -> { retry.start(); }, AnException.of(IllegalStateException.class));
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.doctusoft.java;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class TestBinaryId {
+
+    @Test
+    public void parseRoundTrip() {
+        for (int i = 0; i < 1000; ++i) {
+            String id = RandomId.fullRandom();
+            BinaryId binary = BinaryId.parse(id);
+            assertEquals(id, binary.toString());
+            assertEquals(binary, BinaryId.parse("[" + id + "]", 1));
+            assertEquals(binary.hashCode(), BinaryId.of(binary.getHigh(), binary.getLow()).hashCode());
+        }
+        long[] id = new long[2];
+        RandomId.sequential(id);
+        assertEquals(BinaryId.of(id), BinaryId.parse(RandomId.toString(id[0], id[1])));
+    }
+
+    @Test
+    public void parseFailures() {
+        for (String invalid : new String[] { "", "AAAAAAAAAAAAAAAAAAAAA", "AAAAAAAAAAAAAAAAAAAAAAA",
+            "AAAAAAAAAA+AAAAAAAAAAA", "AAAAAAAAAAAAAAAAAAAAAB", "AAAAAAAAAAAAAAAAAAAAAá" }) {
+            LambdAssert.assertThrows(() -> { BinaryId.parse(invalid); },
+                AnException.of(IllegalArgumentException.class));
+        }
+    }
+
+    @Test
+    public void orderingMatchesStrings() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] samples = { 0L, 1L, -1L, 2L, 3L, 15L, 16L, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 62, 3L << 62 };
+        List<BinaryId> ids = new ArrayList<>();
+        for (long high : samples) {
+            for (long low : samples) {
+                ids.add(BinaryId.of(high, low));
+                ids.add(BinaryId.of(high ^ random.nextLong() & 63L, low));
+            }
+        }
+        for (int i = 0; i < 200; ++i) {
+            ids.add(BinaryId.parse(RandomId.fullRandom()));
+        }
+        for (BinaryId a : ids) {
+            for (BinaryId b : ids) {
+                assertEquals(a + " vs " + b, Integer.signum(a.toString().compareTo(b.toString())),
+                    Integer.signum(a.compareTo(b)));
+            }
+        }
+    }
+
+    @Test
+    public void numericOrder() {
+        assertTrue(BinaryId.NUMERIC_ORDER.compare(BinaryId.of(1L, -1L), BinaryId.of(2L, 0L)) < 0);
+        assertTrue(BinaryId.NUMERIC_ORDER.compare(BinaryId.of(-1L, 0L), BinaryId.of(1L, 0L)) > 0);
+        assertTrue(BinaryId.NUMERIC_ORDER.compare(BinaryId.of(1L, -1L), BinaryId.of(1L, 1L)) > 0);
+        assertEquals(0, BinaryId.NUMERIC_ORDER.compare(BinaryId.of(1L, 1L), BinaryId.of(1L, 1L)));
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.doctusoft.java;
+
+import org.junit.Test;
+
+import java.time.*;
+
+import static org.junit.Assert.*;
+
+public class TestDriftCorrectedClock {
+
+    private static final long START = 1_000_000L * 1_000_000_000L;
+
+    private final ManualClock wallClock = new ManualClock();
+
+    private final ManualDriftCorrectedClock clock = new ManualDriftCorrectedClock(wallClock);
+
+    @Test
+    public void followsSystemNanosBetweenResyncs() {
+        assertEquals(START, clock.epochNanos());
+        clock.nanos = 1_234_567L;
+        wallClock.nanos = START + 1_000_000_000L;
+        assertEquals(START + 1_234_567L, clock.epochNanos());
+        assertEquals((START + 1_234_567L) / 1_000L, clock.epochMicros());
+        assertEquals((START + 1_234_567L) / 1_000_000L, clock.millis());
+        assertEquals(Instant.ofEpochSecond(1_000_000L, 1_234_567L), clock.instant());
+    }
+
+    @Test
+    public void ignoresDriftBelowThreshold() {
+        clock.nanos = 2_000_000_000L;
+        wallClock.nanos = START + 2_000_000_000L + 5_000_000L;
+        assertEquals(START + 2_000_000_000L, clock.epochNanos());
+        assertEquals(0L, clock.getLastCorrection());
+    }
+
+    @Test
+    public void jumpsForwardWhenLagging() {
+        clock.nanos = 2_000_000_000L;
+        wallClock.nanos = START + 2_500_000_000L;
+        assertEquals(START + 2_500_000_000L, clock.epochNanos());
+        assertEquals(500_000_000L, clock.getLastCorrection());
+        clock.nanos += 10L;
+        assertEquals(START + 2_500_000_010L, clock.epochNanos());
+    }
+
+    @Test
+    public void slowsDownWhenAhead() {
+        clock.nanos = 2_000_000_000L;
+        wallClock.nanos = START + 1_800_000_000L;
+        assertEquals(START + 2_000_000_000L, clock.epochNanos());
+        assertEquals(-200_000_000L, clock.getLastCorrection());
+        long last = clock.epochNanos();
+        for (int i = 0; i < 100; ++i) {
+            clock.nanos += 5_000_000L;
+            long next = clock.epochNanos();
+            assertTrue(next > last);
+            last = next;
+        }
+        assertEquals(START + 1_800_000_000L + 500_000_000L, last);
+        clock.nanos += 100_000_000L;
+        assertEquals(START + 1_800_000_000L + 600_000_000L, clock.epochNanos());
+    }
+
+    @Test
+    public void neverMovesBackwardsWhenNewerSyncIsInstalledConcurrently() {
+        clock.nanos = 2_000_000_000L;
+        wallClock.nanos = START + 1_800_000_000L;
+        clock.epochNanos();
+        clock.nanos = 2_100_000_000L;
+        long last = clock.epochNanos();
+        long[] concurrent = new long[1];
+        clock.beforeReturn = () -> {
+            // another thread re-synchronizes between reading the system nanos and loading the current state
+            clock.nanos = 3_200_000_000L;
+            wallClock.nanos = START + 2_500_000_000L;
+            concurrent[0] = clock.epochNanos();
+        };
+        long stale = clock.epochNanos();
+        assertTrue(concurrent[0] >= last);
+        assertTrue(stale >= concurrent[0]);
+        assertTrue(clock.epochNanos() >= stale);
+    }
+
+    private static final class ManualDriftCorrectedClock extends DriftCorrectedClock {
+
+        private long nanos;
+
+        private Runnable beforeReturn;
+
+        ManualDriftCorrectedClock(Clock delegate) {
+            super(delegate, Duration.ofSeconds(1L), Duration.ofMillis(10L));
+        }
+
+        protected long getSystemNanos() {
+            long result = nanos;
+            Runnable action = beforeReturn;
+            beforeReturn = null;
+            if (action != null) {
+                action.run();
+            }
+            return result;
+        }
+    }
+
+    private static final class ManualClock extends Clock {
+
+        private long nanos = START;
+
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        public Instant instant() {
+            return Instant.ofEpochSecond(0L, nanos);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.doctusoft.java;
+
+import com.doctusoft.math.ExponentialDelays;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.Assert.*;
+
+public class TestHedgedExecutor {
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+
+    @After
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void hedgeWinsOverSlowAttempt() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        HedgedExecutor hedged = new HedgedExecutor(scheduler, 2);
+        CompletableFuture<String> future = hedged.submit(() -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(10_000L);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return "slow";
+            }
+            return "fast";
+        }, ExponentialDelays.longsFrom(10L).limitMaxAttempts(2));
+        assertEquals("fast", future.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failureWaitsForNextHedge() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HedgedExecutor hedged = new HedgedExecutor(scheduler, 1);
+        long started = System.nanoTime();
+        CompletableFuture<String> future = hedged.submit(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("first");
+            }
+            return "OK";
+        }, ExponentialDelays.longsFrom(200L).limitMaxAttempts(1));
+        assertEquals("OK", future.get(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(200L));
+    }
+
+    @Test
+    public void alwaysFailingTaskIsNotRetriedWithoutDelay() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HedgedExecutor hedged = new HedgedExecutor(scheduler, 1);
+        CompletableFuture<Object> future = hedged.submit(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("always");
+        }, ExponentialDelays.longsFrom(100L));
+        Thread.sleep(250L);
+        assertFalse(future.isDone());
+        future.cancel(false);
+        assertTrue(calls.get() <= 3);
+    }
+
+    @Test
+    public void winnerIsNotInterrupted() throws Exception {
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        ExecutorService executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>()) {
+            protected void afterExecute(Runnable r, Throwable t) {
+                interrupted.complete(Thread.currentThread().isInterrupted());
+            }
+        };
+        try {
+            HedgedExecutor hedged = new HedgedExecutor(executor, scheduler, 1);
+            CompletableFuture<String> future = hedged.submit(() -> "OK", ExponentialDelays.longsFrom(60_000L));
+            assertEquals("OK", future.get(5, TimeUnit.SECONDS));
+            assertFalse(interrupted.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failsWithLastFailureWhenHedgesExhausted() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HedgedExecutor hedged = new HedgedExecutor(scheduler, 1);
+        CompletableFuture<Object> future = hedged.submit(() -> {
+            throw new IllegalStateException("failure #" + calls.incrementAndGet());
+        }, ExponentialDelays.longs().limitMaxAttempts(2));
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void percentileHedgesRecordLatencies() throws Exception {
+        LatencyHistogram latencies = new LatencyHistogram();
+        HedgedExecutor hedged = new HedgedExecutor(scheduler, 1);
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals("OK", hedged.submit(() -> {
+            calls.incrementAndGet();
+            Thread.sleep(20L);
+            return "OK";
+        }, latencies, 95.0, 1).get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(1L, latencies.getCount());
+        assertTrue(latencies.getMax() >= TimeUnit.MILLISECONDS.toNanos(20L));
+    }
+
+}
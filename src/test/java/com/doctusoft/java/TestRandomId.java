@@ -0,0 +1,212 @@
+package com.doctusoft.java;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import static org.junit.Assert.*;
+
+public class TestRandomId {
+
+    private static final Base64.Encoder CODER = Base64.getUrlEncoder().withoutPadding();
+
+    @Test
+    public void encodingMatchesBase64() {
+        long[] samples = { 0L, 1L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 0x0123456789ABCDEFL, 0xFEDCBA9876543210L };
+        for (long high : samples) {
+            for (long low : samples) {
+                assertEquals(base64(high, low), RandomId.toString(high, low));
+            }
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 1000; ++i) {
+            long high = random.nextLong();
+            long low = random.nextLong();
+            assertEquals(base64(high, low), RandomId.toString(high, low));
+        }
+    }
+
+    @Test
+    public void writesIntoBuffers() {
+        long high = 0x0123456789ABCDEFL;
+        long low = 0xFEDCBA9876543210L;
+        String expected = base64(high, low);
+
+        char[] chars = new char[RandomId.LENGTH + 2];
+        RandomId.encode(high, low, chars, 1);
+        assertEquals(expected, new String(chars, 1, RandomId.LENGTH));
+
+        byte[] bytes = new byte[RandomId.LENGTH + 2];
+        RandomId.encode(high, low, bytes, 2);
+        assertEquals(expected, new String(bytes, 2, RandomId.LENGTH, StandardCharsets.US_ASCII));
+
+        assertEquals(">" + expected, RandomId.append(high, low, new StringBuilder(">")).toString());
+
+        LambdAssert.assertThrows(() -> { RandomId.encode(high, low, chars, 3); },
+            AnException.of(IllegalArgumentException.class));
+        LambdAssert.assertThrows(() -> { RandomId.encode(high, low, bytes, -1); },
+            AnException.of(IllegalArgumentException.class));
+    }
+
+    @Test
+    public void generatedIdsAreValid() {
+        long[] id = new long[2];
+        RandomId.sequential(id);
+        long ticks = System.currentTimeMillis() * 10_000L;
+        assertTrue(Math.abs(id[0] - ticks) < 10_000_000L);
+        RandomId.uniformDistribution(id);
+        assertTrue(Math.abs(id[1] - ticks) < 10_000_000L);
+
+        char[] chars = new char[RandomId.LENGTH];
+        RandomId.fullRandom(chars, 0);
+        assertValid(new String(chars));
+        assertValid(RandomId.sequential());
+        assertValid(RandomId.uniformDistribution());
+        assertValid(RandomId.fullRandom());
+        assertValid(RandomId.sequential(new StringBuilder()).toString());
+    }
+
+    @Test
+    public void monotonicIdsIncreaseWithStoppedClock() {
+        Clock stopped = Clock.fixed(Instant.ofEpochSecond(1_000_000L), ZoneOffset.UTC);
+        MonotonicIdGenerator generator = new MonotonicIdGenerator(stopped, 5, 4);
+        long[] id = new long[2];
+        long last = Long.MIN_VALUE;
+        for (int i = 0; i < 1000; ++i) {
+            generator.next(id);
+            assertTrue(id[0] > last);
+            assertEquals(5L, id[1] >>> 60);
+            last = id[0];
+        }
+        assertEquals(1_000_000L * 10_000_000L + 999L, last);
+        LambdAssert.assertThrows(() -> { new MonotonicIdGenerator(stopped, 16, 4); },
+            AnException.of(IllegalArgumentException.class));
+    }
+
+    @Test
+    public void monotonicIdsAreUniqueAcrossThreads() throws Exception {
+        MonotonicIdGenerator generator = new MonotonicIdGenerator();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; ++t) {
+                futures.add(executor.submit(() -> {
+                    long[] ticks = new long[10_000];
+                    long[] id = new long[2];
+                    for (int i = 0; i < ticks.length; ++i) {
+                        generator.next(id);
+                        ticks[i] = id[0];
+                    }
+                    return ticks;
+                }));
+            }
+            Set<Long> all = new HashSet<>();
+            for (Future<long[]> future : futures) {
+                long[] ticks = future.get();
+                for (int i = 0; i < ticks.length; ++i) {
+                    assertTrue(i == 0 || ticks[i] > ticks[i - 1]);
+                    assertTrue(all.add(ticks[i]));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertValid(RandomId.monotonic());
+    }
+
+    @Test
+    public void monotonicIdsIncreaseInNumericOrderOnly() {
+        List<String> ids = RandomId.monotonicStream(10_000L).collect(Collectors.toList());
+        for (int i = 1; i < ids.size(); ++i) {
+            BinaryId previous = BinaryId.parse(ids.get(i - 1));
+            BinaryId next = BinaryId.parse(ids.get(i));
+            assertTrue(BinaryId.NUMERIC_ORDER.compare(previous, next) < 0);
+            int stringOrder = ids.get(i - 1).compareTo(ids.get(i));
+            assertEquals(Integer.signum(stringOrder), Integer.signum(previous.compareTo(next)));
+        }
+        // the digit '9' (61) is followed by '-' (62), which precedes it in ASCII order
+        String nine = RandomId.toString(61L << 4, 0L);
+        String dash = RandomId.toString(62L << 4, 0L);
+        assertTrue(BinaryId.NUMERIC_ORDER.compare(BinaryId.parse(nine), BinaryId.parse(dash)) < 0);
+        assertTrue(nine.compareTo(dash) > 0);
+    }
+
+    @Test
+    public void sortableIdsIncreaseInStringOrder() {
+        Clock stopped = Clock.fixed(Instant.ofEpochSecond(1_000_000L), ZoneOffset.UTC);
+        MonotonicIdGenerator generator = new MonotonicIdGenerator(stopped, 0, 0);
+        String previous = generator.nextSortable();
+        for (int i = 0; i < 10_000; ++i) {
+            String next = generator.nextSortable();
+            assertValid(next);
+            assertTrue(previous.compareTo(next) < 0);
+            previous = next;
+        }
+        String first = RandomId.monotonicSortable();
+        assertTrue(first.compareTo(RandomId.monotonicSortable()) < 0);
+        // the sortable order is the numeric order across the digits that are out of ASCII order in Base64
+        long[] samples = { 0L, 25L << 4, 26L << 4, 51L << 4, 52L << 4, 61L << 4, 62L << 4, 63L << 4, 1L << 58 };
+        for (int i = 1; i < samples.length; ++i) {
+            String lower = RandomId.toSortableString(samples[i - 1], -1L);
+            String upper = RandomId.toSortableString(samples[i], 0L);
+            assertTrue(lower + " < " + upper, lower.compareTo(upper) < 0);
+        }
+        for (long sample : samples) {
+            BinaryId id = BinaryId.of(sample, ~sample);
+            assertEquals(id, BinaryId.parseSortable(id.toSortableString()));
+            StringBuilder builder = RandomId.appendSortable(sample, ~sample, new StringBuilder());
+            assertEquals(id.toSortableString(), builder.toString());
+        }
+        LambdAssert.assertThrows(() -> { BinaryId.parseSortable("AAAAAAAAAAAAAAAAAAAAA+"); },
+            AnException.of(IllegalArgumentException.class));
+    }
+
+    @Test
+    public void bulkGeneration() {
+        Clock stopped = Clock.fixed(Instant.ofEpochSecond(1_000_000L), ZoneOffset.UTC);
+        MonotonicIdGenerator generator = new MonotonicIdGenerator(stopped, 0, 0);
+        long first = generator.nextTicks();
+        long[] high = new long[100];
+        long[] low = new long[100];
+        generator.fill(high, low);
+        for (int i = 0; i < high.length; ++i) {
+            assertEquals(first + 1L + i, high[i]);
+        }
+        List<BinaryId> ids = generator.binaryStream(10_000L).parallel().collect(Collectors.toList());
+        assertEquals(10_000, ids.size());
+        for (int i = 0; i < ids.size(); ++i) {
+            assertEquals(first + 101L + i, ids.get(i).getHigh());
+        }
+        assertEquals(first + 10_101L, generator.nextTicks());
+        assertEquals(1000L, RandomId.monotonicStream(1000L).parallel().distinct().count());
+    }
+
+    @Test
+    public void bulkReservationIsOverflowChecked() {
+        Clock stopped = Clock.fixed(Instant.ofEpochSecond(1_000_000L), ZoneOffset.UTC);
+        MonotonicIdGenerator generator = new MonotonicIdGenerator(stopped, 0, 0);
+        long first = generator.nextTicks();
+        LambdAssert.assertThrows(() -> { generator.stream(Long.MAX_VALUE); },
+            AnException.of(IllegalArgumentException.class));
+        assertEquals(first + 1L, generator.nextTicks());
+        long remaining = Long.MAX_VALUE - first - 1L;
+        assertEquals(remaining, generator.binaryStream(remaining).spliterator().estimateSize());
+        LambdAssert.assertThrows(() -> { generator.nextTicks(); },
+            AnException.of(IllegalArgumentException.class));
+    }
+
+    private static void assertValid(String id) {
+        assertEquals(RandomId.LENGTH, id.length());
+        assertTrue(id, id.matches("[0-9A-Za-z_-]{22}"));
+    }
+
+    private static String base64(long high, long low) {
+        return CODER.encodeToString(ByteBuffer.allocate(16).putLong(high).putLong(low).array());
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.doctusoft.java;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.stream.*;
+
+import static org.junit.Assert.*;
+
+public class TestRetryGuard {
+
+    @Test
+    public void retryBudgetLimitsRetries() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+        assertTrue(budget.tryAcquire(true));
+        assertTrue(budget.tryAcquire(true));
+        assertFalse(budget.tryAcquire(true));
+        assertTrue(budget.tryAcquire(false));
+        assertFalse(budget.tryAcquire(true));
+        assertTrue(budget.tryAcquire(false));
+        assertTrue(budget.tryAcquire(true));
+        assertFalse(budget.tryAcquire(true));
+    }
+
+    @Test
+    public void retryBudgetIsCapped() {
+        RetryBudget budget = new RetryBudget(1.0, 3);
+        for (int i = 0; i < 100; ++i) {
+            budget.tryAcquire(false);
+        }
+        assertEquals(3, budget.getAvailableRetries());
+    }
+
+    @Test
+    public void circuitBreakerTransitions() {
+        ManualCircuitBreaker breaker = new ManualCircuitBreaker(2, Duration.ofSeconds(1L));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        acquireAndFail(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        acquireAndFail(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire(false));
+
+        breaker.nanos += Duration.ofSeconds(1L).toNanos();
+        assertTrue(breaker.tryAcquire(true));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse("only a single probe is permitted", breaker.tryAcquire(false));
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire(false));
+
+        breaker.nanos += Duration.ofSeconds(1L).toNanos();
+        assertTrue(breaker.tryAcquire(false));
+        breaker.release(false);
+        assertTrue("released probe should be permitted again", breaker.tryAcquire(false));
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire(false));
+    }
+
+    @Test
+    public void retryRejectedWhenBreakerIsOpen() {
+        ManualCircuitBreaker breaker = new ManualCircuitBreaker(1, Duration.ofMinutes(1L));
+        acquireAndFail(breaker);
+        AtomicInteger calls = new AtomicInteger();
+        Retry<Integer> retry = new Retry<>(calls::incrementAndGet, LongStream.of(0L), breaker);
+        LambdAssert.assertThrows(() -> { retry.call(); }, AnException.of(RejectedExecutionException.class));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void retriesStopWhenBudgetIsExhausted() {
+        AtomicInteger calls = new AtomicInteger();
+        RetryGuard guard = RetryGuard.allOf(new RetryBudget(0.0, 1), new CircuitBreaker(10, Duration.ZERO));
+        Retry<Object> retry = new Retry<>(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException();
+        }, LongStream.of(0L, 0L, 0L), guard);
+        LambdAssert.assertThrows(() -> { retry.call(); }, AnException.of(IllegalStateException.class));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void budgetIsRefundedWhenCombinedGuardRefuses() {
+        ManualCircuitBreaker breaker = new ManualCircuitBreaker(1, Duration.ofMinutes(1L));
+        acquireAndFail(breaker);
+        RetryBudget budget = new RetryBudget(0.0, 2);
+        RetryGuard guard = RetryGuard.allOf(budget, breaker);
+        for (int i = 0; i < 10; ++i) {
+            assertFalse(guard.tryAcquire(true));
+        }
+        assertEquals(2, budget.getAvailableRetries());
+    }
+
+    @Test
+    public void lostProbeIsPermittedAgain() {
+        ManualCircuitBreaker breaker = new ManualCircuitBreaker(1, Duration.ofSeconds(1L));
+        acquireAndFail(breaker);
+        breaker.nanos += Duration.ofSeconds(1L).toNanos();
+        assertTrue(breaker.tryAcquire(false));
+        breaker.nanos += Duration.ofMillis(999L).toNanos();
+        assertFalse(breaker.tryAcquire(false));
+        breaker.nanos += Duration.ofMillis(1L).toNanos();
+        assertTrue(breaker.tryAcquire(false));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    public void errorFailsProbe() {
+        ManualCircuitBreaker breaker = new ManualCircuitBreaker(1, Duration.ofSeconds(1L));
+        acquireAndFail(breaker);
+        breaker.nanos += Duration.ofSeconds(1L).toNanos();
+        Retry<Object> retry = new Retry<>(() -> {
+            throw new AssertionError();
+        }, LongStream.of(0L), breaker);
+        try {
+            retry.call();
+            fail("Expected error");
+        } catch (AssertionError expected) {
+            // the error is not retried
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        breaker.nanos += Duration.ofSeconds(1L).toNanos();
+        assertTrue(breaker.tryAcquire(false));
+    }
+
+    @Test
+    public void errorIsReportedAsGiveUp() {
+        RetryStats stats = new RetryStats();
+        Retry<Object> retry = new Retry<>(() -> {
+            throw new AssertionError();
+        }, LongStream.of(0L), RetryGuard.NONE, stats);
+        try {
+            retry.call();
+            fail("Expected error");
+        } catch (AssertionError expected) {
+            // the error is not retried
+        }
+        assertEquals(1L, stats.getAttempts());
+        assertEquals(1L, stats.getGiveUps());
+    }
+
+    @Test
+    public void refusedRetryDoesNotWaitForBackOff() {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofMinutes(1L));
+        Retry<Object> retry = new Retry<>(() -> {
+            throw new IllegalStateException();
+        }, LongStream.of(60_000L), breaker);
+        long started = System.nanoTime();
+        LambdAssert.assertThrows(() -> { retry.call(); }, AnException.of(IllegalStateException.class));
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(5L));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void retryPermitIsReturnedWhenDelaysAreExhausted() {
+        RetryBudget budget = new RetryBudget(0.0, 1);
+        Retry<Object> retry = new Retry<>(() -> {
+            throw new IllegalStateException();
+        }, LongStream.empty(), budget);
+        LambdAssert.assertThrows(() -> { retry.call(); }, AnException.of(IllegalStateException.class));
+        assertEquals(1, budget.getAvailableRetries());
+    }
+
+    private static void acquireAndFail(RetryGuard guard) {
+        assertTrue(guard.tryAcquire(false));
+        guard.onFailure();
+    }
+
+    private static final class ManualCircuitBreaker extends CircuitBreaker {
+
+        private long nanos;
+
+        ManualCircuitBreaker(int failureThreshold, Duration openDuration) {
+            super(failureThreshold, openDuration);
+        }
+
+        protected long getSystemNanos() {
+            return nanos;
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.doctusoft.java;
+
+import org.junit.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.stream.*;
+
+import static org.junit.Assert.*;
+
+public class TestRetryStats {
+
+    @Test
+    public void countsEvents() {
+        RetryStats stats = new RetryStats();
+        AtomicInteger calls = new AtomicInteger();
+        Retry<String> retry = new Retry<>(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IllegalStateException();
+            }
+            return "OK";
+        }, LongStream.of(0L, 1L, 2L), RetryGuard.NONE, stats);
+        assertEquals("OK", retry.call());
+        assertEquals(3L, stats.getAttempts());
+        assertEquals(2L, stats.getFailures());
+        assertEquals(1L, stats.getSuccesses());
+        assertEquals(2L, stats.getRetries());
+        assertEquals(1L, stats.getTotalDelayMillis());
+        assertEquals(0L, stats.getGiveUps());
+        assertEquals(3L, stats.getAttemptLatency().getCount());
+    }
+
+    @Test
+    public void countsGiveUps() {
+        RetryStats stats = new RetryStats();
+        Retry<Object> retry = new Retry<>(() -> {
+            throw new CancellationException();
+        }, LongStream.of(0L), RetryGuard.NONE, RetryListener.allOf(stats, RetryListener.NONE));
+        LambdAssert.assertThrows(() -> { retry.call(); }, AnException.of(CancellationException.class));
+        assertEquals(1L, stats.getAttempts());
+        assertEquals(0L, stats.getRetries());
+        assertEquals(1L, stats.getGiveUps());
+    }
+
+    @Test
+    public void histogramBuckets() {
+        for (long value : new long[] { 0L, 1L, 15L, 16L, 17L, 100L, 1000L, 123_456_789L, Long.MAX_VALUE }) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+            assertTrue(value + " <= " + upper, value <= upper);
+            assertTrue(value + " within 12.5%: " + upper, upper - value <= value / 8L);
+            if (bucket > 0) {
+                assertTrue(value + " > " + LatencyHistogram.upperBoundOf(bucket - 1),
+                    value > LatencyHistogram.upperBoundOf(bucket - 1));
+            }
+        }
+    }
+
+    @Test
+    public void histogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getPercentile(99.0));
+        for (long i = 1L; i <= 1000L; ++i) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000L, histogram.getCount());
+        assertEquals(1_000_000L, histogram.getMax());
+        assertEquals(500_500.0, histogram.getMean(), 0.001);
+        long p50 = histogram.getPercentile(50.0);
+        assertTrue("p50: " + p50, p50 >= 500_000L && p50 <= 500_000L * 9L / 8L);
+        long p99 = histogram.getPercentile(99.0);
+        assertTrue("p99: " + p99, p99 >= 990_000L && p99 <= 1_000_000L);
+        assertEquals(1_000_000L, histogram.getPercentile(100.0));
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.doctusoft.java;
+
+import org.junit.Test;
+
+import java.time.*;
+
+import static org.junit.Assert.*;
+
+public class TestTickingClock {
+
+    @Test
+    public void ticksWithResolution() throws InterruptedException {
+        PrecisionClock source = new PrecisionClock();
+        try (TickingClock clock = new TickingClock(source, Duration.ofMillis(1L))) {
+            long first = clock.epochNanos();
+            assertEquals(0L, first % 1_000_000L);
+            assertTrue(Math.abs(source.epochNanos() - first) < 1_000_000_000L);
+            Thread.sleep(50L);
+            long second = clock.epochNanos();
+            assertTrue(first + " < " + second, second > first);
+            assertEquals(second / 1_000_000L, clock.millis());
+            assertEquals(ZoneOffset.UTC, clock.getZone());
+            Clock zoned = clock.withZone(ZoneId.of("Europe/Budapest"));
+            assertEquals(ZoneId.of("Europe/Budapest"), zoned.getZone());
+            assertTrue(Math.abs(zoned.millis() - clock.millis()) < 1_000L);
+        }
+    }
+
+    @Test
+    public void closedClockReadsSource() {
+        PrecisionClock source = new PrecisionClock();
+        TickingClock clock = new TickingClock(source, Duration.ofDays(1L));
+        clock.close();
+        long before = source.epochNanos();
+        long now = clock.epochNanos();
+        assertTrue(now >= before && now <= source.epochNanos());
+    }
+
+    @Test
+    public void invalidResolution() {
+        LambdAssert.assertThrows(() -> { new TickingClock(new PrecisionClock(), Duration.ZERO); },
+            AnException.of(IllegalArgumentException.class));
+    }
+
+}
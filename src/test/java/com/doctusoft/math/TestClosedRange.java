@@ -5,10 +5,17 @@ import com.doctusoft.java.LambdAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 
+import java.math.BigInteger;
+import java.nio.CharBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.stream.*;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertThat;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
 
 public class TestClosedRange {
     
@@ -46,6 +53,8 @@ public class TestClosedRange {
         assertLongSizeExactArithmeticException(Long.MIN_VALUE, 0);
         assertLongSizeExactArithmeticException(0, Long.MAX_VALUE);
         assertLongSizeExactArithmeticException(Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(BigInteger.ONE.shiftLeft(64), ClosedRange.countLongs(ClosedRange.create(Long.MIN_VALUE, Long.MAX_VALUE)));
+        assertEquals(BigInteger.ONE.shiftLeft(63), ClosedRange.countLongs(ClosedRange.create(0L, Long.MAX_VALUE)));
     }
     
     private void assertLongSizeExactArithmeticException(long lowerBound, long upperBound) {
@@ -73,4 +82,159 @@ public class TestClosedRange {
             Matchers.equalTo(ClosedRange.singleValue(5)));
     }
     
+    @Test
+    public void parseNumbers() {
+        assertEquals(ClosedRange.create(4, 17), ClosedRange.parse("[4; 17]", Integer::valueOf));
+        LambdAssert.assertThrows(() -> ClosedRange.parse("[4, 17]", Integer::valueOf), AnException.of(IllegalArgumentException.class));
+    }
+    
+    @Test
+    public void intClosedRange() {
+        IntClosedRange range = IntClosedRange.create(-3, 5);
+        assertTrue(range.contains(-3));
+        assertTrue(range.contains(5));
+        assertFalse(range.contains(6));
+        assertEquals(9L, range.size());
+        assertEquals(1L << 32, IntClosedRange.create(Integer.MIN_VALUE, Integer.MAX_VALUE).size());
+        assertEquals(range, IntClosedRange.parse(range.toString()));
+        assertEquals(range.toClosedRange().toString(), range.toString());
+        assertEquals(range.toClosedRange().hashCode(), range.hashCode());
+        assertEquals(range, IntClosedRange.from(range.toClosedRange()));
+        assertEquals(IntClosedRange.singleValue(5), range.intersection(IntClosedRange.create(5, 9)));
+        assertEquals(IntClosedRange.create(-3, 9), range.extendWithRange(IntClosedRange.create(7, 9)));
+        LambdAssert.assertThrows(() -> range.intersection(IntClosedRange.create(6, 9)), AnException.of(IllegalArgumentException.class));
+        LambdAssert.assertThrows(() -> IntClosedRange.create(1, 0), AnException.of(IllegalArgumentException.class));
+    }
+    
+    @Test
+    public void longClosedRange() {
+        LongClosedRange range = LongClosedRange.create(-3L, 5L);
+        assertTrue(range.contains(0L));
+        assertFalse(range.contains(-4L));
+        assertEquals(9L, range.size());
+        assertEquals(range, LongClosedRange.parse(range.toString()));
+        assertEquals(range.toClosedRange().hashCode(), range.hashCode());
+        assertEquals(range, LongClosedRange.from(range.toClosedRange()));
+        LambdAssert.assertThrows(() -> { LongClosedRange.create(0L, Long.MAX_VALUE).size(); }, AnException.of(ArithmeticException.class));
+    }
+    
+    @Test
+    public void intElementsSet() {
+        ClosedRange.IntElementsSet set = new ClosedRange.IntElementsSet(ClosedRange.create(-3, 5));
+        assertEquals(9, set.size());
+        assertEquals(IntStream.range(-3, -3 + 9).boxed().collect(Collectors.toList()), new ArrayList<>(set));
+        assertEquals(9, set.intStream().count());
+        assertEquals(set, set.stream().parallel().collect(Collectors.toSet()));
+        Spliterator.OfInt spliterator = set.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.DISTINCT | Spliterator.SORTED));
+        assertEquals(9, spliterator.getExactSizeIfKnown());
+        assertNotNull(spliterator.trySplit());
+        PrimitiveIterator.OfInt iterator = set.iterator();
+        assertEquals(-3, iterator.nextInt());
+        int[] sum = { 0 };
+        iterator.forEachRemaining((int value) -> sum[0] += value);
+        assertEquals(IntStream.range(-3 + 1, -3 + 9).sum(), sum[0]);
+        assertFalse(iterator.hasNext());
+        LambdAssert.assertThrows(() -> { iterator.nextInt(); }, AnException.of(NoSuchElementException.class));
+        assertTrue(set.contains(-3));
+        assertEquals(true, set.contains(5));
+        assertFalse(set.contains(-3L));
+    }
+    
+    @Test
+    public void longElementsSet() {
+        ClosedRange.LongElementsSet set = new ClosedRange.LongElementsSet(ClosedRange.create(Long.MAX_VALUE - 10L, Long.MAX_VALUE));
+        assertEquals(11, set.size());
+        assertEquals(set.size(), set.longStream().count());
+        assertEquals(set.size(), set.stream().parallel().distinct().count());
+        assertEquals(Long.MAX_VALUE - 10L, set.iterator().nextLong());
+        List<Long> elements = new ArrayList<>();
+        set.forEach(elements::add);
+        assertEquals(set.longStream().boxed().collect(Collectors.toList()), elements);
+        assertEquals(true, set.contains(Long.MAX_VALUE));
+    }
+    
+    @Test
+    public void split() {
+        assertEquals(asList(ClosedRange.create(0L, 3L), ClosedRange.create(4L, 6L), ClosedRange.create(7L, 9L)),
+            ClosedRange.split(ClosedRange.create(0L, 9L), 3));
+        assertEquals(asList(ClosedRange.singleValue(1L), ClosedRange.singleValue(2L)),
+            ClosedRange.split(ClosedRange.create(1L, 2L), 5));
+        assertContiguous(ClosedRange.split(ClosedRange.create(Long.MIN_VALUE, Long.MAX_VALUE), 7), Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(asList(ClosedRange.create(Long.MIN_VALUE, Long.MAX_VALUE)),
+            ClosedRange.split(ClosedRange.create(Long.MIN_VALUE, Long.MAX_VALUE), 1));
+        List<ClosedRange<Long>> halves = ClosedRange.split(ClosedRange.create(Long.MIN_VALUE, Long.MAX_VALUE), 2);
+        assertEquals(asList(ClosedRange.create(Long.MIN_VALUE, -1L), ClosedRange.create(0L, Long.MAX_VALUE)), halves);
+        LambdAssert.assertThrows(() -> ClosedRange.split(ClosedRange.create(0L, 9L), 0), AnException.of(IllegalArgumentException.class));
+    }
+    
+    @Test
+    public void chunks() {
+        assertEquals(asList(ClosedRange.create(0L, 3L), ClosedRange.create(4L, 7L), ClosedRange.create(8L, 9L)),
+            ClosedRange.chunks(ClosedRange.create(0L, 9L), 4L));
+        assertContiguous(ClosedRange.chunks(ClosedRange.create(Long.MAX_VALUE - 100L, Long.MAX_VALUE), 7L),
+            Long.MAX_VALUE - 100L, Long.MAX_VALUE);
+        LambdAssert.assertThrows(() -> ClosedRange.chunks(ClosedRange.create(Long.MIN_VALUE, Long.MAX_VALUE), 1L),
+            AnException.of(IllegalArgumentException.class));
+        Spliterator<ClosedRange<Long>> full = ClosedRange.chunkSpliterator(ClosedRange.create(Long.MIN_VALUE, Long.MAX_VALUE), 1L);
+        assertFalse(full.hasCharacteristics(Spliterator.SIZED));
+        assertNotNull(full.trySplit());
+        assertEquals(Long.MAX_VALUE, full.estimateSize());
+        assertNotNull(full.trySplit());
+        assertTrue(full.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(1L << 62, full.estimateSize());
+        long sum = StreamSupport.stream(ClosedRange.chunkSpliterator(ClosedRange.create(1L, 100_000L), 1000L), true)
+            .mapToLong(range -> LongStream.rangeClosed(range.getLowerBound(), range.getUpperBound()).sum())
+            .sum();
+        assertEquals(100_000L * 100_001L / 2, sum);
+    }
+    
+    private static void assertContiguous(List<ClosedRange<Long>> pieces, long lowerBound, long upperBound) {
+        assertEquals(lowerBound, pieces.get(0).getLowerBound().longValue());
+        assertEquals(upperBound, pieces.get(pieces.size() - 1).getUpperBound().longValue());
+        for (int i = 1; i < pieces.size(); ++i) {
+            assertEquals(pieces.get(i - 1).getUpperBound() + 1L, pieces.get(i).getLowerBound().longValue());
+        }
+    }
+    
+    @Test
+    public void parseSlice() {
+        String row = "42,[2020-01-31; 2020-12-31],[-7; 9223372036854775807],x";
+        assertEquals(ClosedRange.create(LocalDate.of(2020, 1, 31), LocalDate.of(2020, 12, 31)),
+            ClosedRange.parse(row, 3, 27, Interval.BoundParser.localDates()));
+        assertEquals(ClosedRange.create(-7L, Long.MAX_VALUE), ClosedRange.parse(row, 28, 53, Interval.BoundParser.longs()));
+        assertEquals(LongClosedRange.create(-7L, Long.MAX_VALUE), LongClosedRange.parse(row, 28, 53));
+        assertEquals(IntClosedRange.create(4, 17), IntClosedRange.parse(CharBuffer.wrap("[4; 17]".toCharArray()), 0, 7));
+        assertEquals(ClosedRange.create("A", "B"), ClosedRange.parse("x[A; B]x", 1, 7, Interval.BoundParser.of(Function.identity())));
+        assertEquals(ClosedRange.create(LocalDate.of(-5, 1, 1), LocalDate.of(10000, 1, 1)),
+            ClosedRange.parse("[-0005-01-01; +10000-01-01]", 0, 27, Interval.BoundParser.localDates()));
+        for (String invalid : asList("", "[]", "[; ]", "[1; ]", "[; 1]", "(1; 2]", "[1; 2)", "[1; 2; 3]", "[1, 2]", "[2; 1]")) {
+            LambdAssert.assertThrows(() -> ClosedRange.parse(invalid, 0, invalid.length(), Interval.BoundParser.ints()),
+                AnException.of(IllegalArgumentException.class));
+            LambdAssert.assertThrows(() -> IntClosedRange.parse(invalid, 0, invalid.length()),
+                AnException.of(IllegalArgumentException.class));
+        }
+        for (String invalid : asList("[a; 2]", "[1; 2147483648]", "[-; 1]", "[1; +]")) {
+            LambdAssert.assertThrows(() -> IntClosedRange.parse(invalid), AnException.of(NumberFormatException.class));
+        }
+        LambdAssert.assertThrows(() -> ClosedRange.parse("[1; 2]", 0, 7, Interval.BoundParser.ints()),
+            AnException.of(IndexOutOfBoundsException.class));
+    }
+    
+    @Test
+    public void parseBounds() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 1000; ++i) {
+            long value = random.nextLong();
+            String text = Long.toString(value);
+            assertEquals(value, IntervalNotation.parseLong(text, 0, text.length()));
+            assertEquals((int) value, IntervalNotation.parseInt(Integer.toString((int) value), 0, Integer.toString((int) value).length()));
+        }
+        assertEquals(Long.MIN_VALUE, IntervalNotation.parseLong("-9223372036854775808", 0, 20));
+        assertEquals(5L, IntervalNotation.parseLong("+5", 0, 2));
+        LambdAssert.assertThrows(() -> IntervalNotation.parseLong("9223372036854775808", 0, 19), AnException.of(NumberFormatException.class));
+        LambdAssert.assertThrows(() -> IntervalNotation.parseLong("-9223372036854775809", 0, 20), AnException.of(NumberFormatException.class));
+        LambdAssert.assertThrows(() -> IntervalNotation.parseLocalDate("2020-02-30", 0, 10), AnException.of(DateTimeException.class));
+    }
+    
 }
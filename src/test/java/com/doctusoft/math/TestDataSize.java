@@ -0,0 +1,113 @@
+package com.doctusoft.math;
+
+import com.doctusoft.java.AnException;
+import com.doctusoft.java.LambdAssert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class TestDataSize {
+    
+    @Test
+    public void printSI() {
+        assertEquals("0", DataSize.SI.printBase(0L));
+        assertEquals("999B", DataSize.SI.print(999L));
+        assertEquals("1kB", DataSize.SI.print(1000L));
+        assertEquals("1.5kB", DataSize.SI.print(1500L));
+        assertEquals("1.2k", DataSize.SI.printBase(1250L));
+        assertEquals("1.4k", DataSize.SI.printBase(1350L));
+        assertEquals("1000k", DataSize.SI.printBase(999_999L));
+        assertEquals("1M", DataSize.SI.printBase(1_000_000L));
+        assertEquals("1.5G", DataSize.SI.printBase(1_500_000_000L));
+        assertEquals("9.2EB", DataSize.SI.print(Long.MAX_VALUE));
+    }
+    
+    @Test
+    public void printBinary() {
+        assertEquals("1023B", DataSize.BINARY.print(1023L));
+        assertEquals("1KiB", DataSize.BINARY.print(1024L));
+        assertEquals("1.5KiB", DataSize.BINARY.print(1536L));
+        assertEquals("1024Ki", DataSize.BINARY.printBase((1L << 20) - 1L));
+        assertEquals("1Mi", DataSize.BINARY.printBase(1L << 20));
+        assertEquals("1.5Gi", DataSize.BINARY.printBase(3L << 29));
+        assertEquals("8EiB", DataSize.BINARY.print(Long.MAX_VALUE));
+    }
+    
+    @Test
+    public void appendToBuffer() {
+        StringBuilder buf = new StringBuilder("size: ");
+        DataSize.BINARY.append(buf, 2560L);
+        assertEquals("size: 2.5KiB", buf.toString());
+    }
+    
+    @Test
+    public void matchesExactRounding() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; ++i) {
+            long size = random.nextLong() >>> random.nextInt(1, 64);
+            for (DataSize dataSize : DataSize.values()) {
+                long unit = dataSize == DataSize.SI ? 1000L : 1024L;
+                String expected;
+                if (size < unit) {
+                    expected = Long.toString(size);
+                } else {
+                    int exp = 0;
+                    BigInteger divisor = BigInteger.ONE;
+                    while (divisor.multiply(BigInteger.valueOf(unit)).compareTo(BigInteger.valueOf(size)) <= 0) {
+                        divisor = divisor.multiply(BigInteger.valueOf(unit));
+                        ++exp;
+                    }
+                    expected = new BigDecimal(size).divide(new BigDecimal(divisor)).setScale(1, RoundingMode.HALF_EVEN)
+                        .stripTrailingZeros().toPlainString() + (dataSize == DataSize.SI
+                        ? "kMGTPE".charAt(exp - 1) : "KMGTPE".charAt(exp - 1) + "i");
+                }
+                assertEquals(expected, dataSize.printBase(size));
+            }
+        }
+    }
+    
+    @Test
+    public void parse() {
+        assertEquals(0L, DataSize.parse("0"));
+        assertEquals(512L, DataSize.parse("512B"));
+        assertEquals(512_000L, DataSize.parse("512kB"));
+        assertEquals(512_000L, DataSize.parse("512 K"));
+        assertEquals(3L << 29, DataSize.parse("1.5GiB"));
+        assertEquals(1_500_000_000L, DataSize.parse("1.5G"));
+        assertEquals(500L, DataSize.parse(".5k"));
+        assertEquals(1L, DataSize.parse("1.9"));
+        assertEquals(1234L, DataSize.parse("1.2345678k"));
+        assertEquals(1263L, DataSize.parse("1.2341Ki"));
+        assertEquals(Long.MAX_VALUE, DataSize.parse("9223372036854775807"));
+        assertEquals(Long.MAX_VALUE, DataSize.parse("7.999999999999999999132638262011596933007240295410156250EiB"));
+        assertEquals(1536L, DataSize.parse("[1.5KiB]", 1, 7));
+    }
+    
+    @Test
+    public void parseFailures() {
+        for (String invalid : new String[] { "", ".", "kB", "1.5.", "1 .5k", "1kiB ", "1XB", "-1", "8EiB",
+            "9223372036854775808", "9.3EB", "1bB" }) {
+            LambdAssert.assertThrows(() -> { DataSize.parse(invalid); },
+                AnException.of(IllegalArgumentException.class));
+        }
+    }
+    
+    @Test
+    public void parseRoundTrip() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; ++i) {
+            long size = random.nextLong() >>> random.nextInt(2, 64);
+            for (DataSize dataSize : DataSize.values()) {
+                long parsed = DataSize.parse(dataSize.print(size));
+                assertTrue(size + " ~ " + parsed, Math.abs(parsed - size) <= size / 20L);
+                assertEquals(parsed, DataSize.parse(dataSize.printBase(size)));
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,79 @@
+package com.doctusoft.math;
+
+import com.doctusoft.java.AnException;
+import com.doctusoft.java.LambdAssert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class TestDecimal {
+    
+    @Test
+    public void printFixWidth() {
+        assertEquals("07", Decimal.printFixWidth2(7));
+        assertEquals("42", Decimal.printFixWidth2(-1942));
+        assertEquals("007", Decimal.printFixWidth3(7));
+        assertEquals("999", Decimal.printFixWidth3(1999));
+        assertEquals("0123", Decimal.printFixWidth4(123));
+        assertEquals("2024", Decimal.printFixWidth4(-2024));
+        assertEquals("7", Decimal.printLast2Digits(107));
+        assertEquals("07", Decimal.printLast3Digits(1007));
+    }
+    
+    @Test
+    public void appendFixWidth() {
+        StringBuilder buf = new StringBuilder();
+        Decimal.appendFixWidth4(buf, 2024);
+        buf.append('-');
+        Decimal.appendFixWidth2(buf, 3);
+        buf.append('-');
+        Decimal.appendFixWidth2(buf, 9);
+        buf.append('T');
+        Decimal.appendFixWidth3(buf, 45);
+        assertEquals("2024-03-09T045", buf.toString());
+    }
+    
+    @Test
+    public void matchesStringFormat() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] chars = new char[Decimal.MAX_WIDTH + 2];
+        byte[] bytes = new byte[Decimal.MAX_WIDTH + 2];
+        for (int i = 0; i < 10_000; ++i) {
+            long value = random.nextLong() >> random.nextInt(64);
+            int width = random.nextInt(1, Decimal.MAX_WIDTH + 1);
+            String expected = expected(value, width);
+            StringBuilder buf = new StringBuilder("x");
+            Decimal.appendFixWidth(buf, value, width);
+            assertEquals("x" + expected, buf.toString());
+            Decimal.writeFixWidth(chars, 1, value, width);
+            assertEquals(expected, new String(chars, 1, width));
+            Decimal.writeFixWidth(bytes, 2, value, width);
+            assertEquals(expected, new String(bytes, 2, width, StandardCharsets.US_ASCII));
+        }
+    }
+    
+    @Test
+    public void extremeValues() {
+        for (long value : new long[] { 0L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1L }) {
+            for (int width = 1; width <= Decimal.MAX_WIDTH; ++width) {
+                StringBuilder buf = new StringBuilder();
+                Decimal.appendFixWidth(buf, value, width);
+                assertEquals(expected(value, width), buf.toString());
+            }
+        }
+        LambdAssert.assertThrows(() -> { Decimal.appendFixWidth(new StringBuilder(), 1L, 20); },
+            AnException.of(IllegalArgumentException.class));
+        LambdAssert.assertThrows(() -> { Decimal.writeFixWidth(new char[3], 1, 1L, 3); },
+            AnException.of(IndexOutOfBoundsException.class));
+    }
+    
+    private static String expected(long value, int width) {
+        String digits = String.format("%019d", value).replace("-", "");
+        digits = digits.length() < Decimal.MAX_WIDTH ? "0" + digits : digits;
+        return digits.substring(digits.length() - width);
+    }
+    
+}
@@ -11,6 +11,7 @@ import static com.doctusoft.math.ExponentialDelays.ints;
 import static com.doctusoft.math.ExponentialDelays.intsFrom;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class TestExponentialIntDelays {
@@ -101,6 +102,19 @@ public class TestExponentialIntDelays {
         assertSame("Missing optimization for unnecessary operation", original, original.limitMaxIncrements(5));
     }
     
+    @Test
+    public void jitterStaysWithinOriginalDelays() {
+        ExponentialDelays.OfInt envelope = intsFrom(10).limitMaxIncrements(6).limitMaxAttempts(20);
+        int[] original = envelope.build().toArray();
+        for (ExponentialDelays.Jitter jitter : ExponentialDelays.Jitter.values()) {
+            int[] jittered = envelope.withJitter(jitter, 7L).build().toArray();
+            assertEquals(jitter.name(), original.length, jittered.length);
+            for (int i = 0; i < original.length; ++i) {
+                assertTrue(jitter + ": " + jittered[i], 0 <= jittered[i] && jittered[i] <= original[i]);
+            }
+        }
+    }
+    
     private static void assertFirstDelays(IntStream stream, int... delays) {
         assertNextDelays(stream.iterator(), delays);
     }
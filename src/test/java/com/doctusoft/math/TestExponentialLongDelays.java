@@ -104,6 +104,47 @@ public class TestExponentialLongDelays {
         assertSame("Missing optimization for unnecessary operation", original, original.limitMaxIncrements(5));
     }
     
+    @Test
+    public void jitterStaysWithinOriginalDelays() {
+        OfLong envelope = longsFrom(10L).limitMaxDelay(1000L).limitMaxAttempts(20);
+        long[] original = envelope.build().toArray();
+        for (Jitter jitter : Jitter.values()) {
+            long[] jittered = envelope.withJitter(jitter).build().toArray();
+            assertEquals(jitter.name(), original.length, jittered.length);
+            for (int i = 0; i < original.length; ++i) {
+                assertTrue(jitter + ": " + jittered[i], 0L <= jittered[i] && jittered[i] <= original[i]);
+                if (jitter == Jitter.EQUAL) {
+                    assertTrue(jitter + ": " + jittered[i], jittered[i] >= original[i] / 2L);
+                }
+                if (jitter == Jitter.DECORRELATED) {
+                    assertTrue(jitter + ": " + jittered[i], jittered[i] >= (i == 0 ? 4L : 10L));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void decorrelatedJitterRandomizesFirstDelay() {
+        Set<Long> firstDelays = new HashSet<>();
+        // the first random values of java.util.Random are close to each other for adjacent seeds
+        for (long seed = 1L; seed <= 20L; ++seed) {
+            OfLong delays = longsFrom(300L).withJitter(Jitter.DECORRELATED, seed * 0x9E3779B97F4A7C15L);
+            long first = delays.build().findFirst().getAsLong();
+            assertTrue(String.valueOf(first), 100L <= first && first <= 300L);
+            firstDelays.add(first);
+        }
+        assertTrue(firstDelays.toString(), firstDelays.size() > 10);
+    }
+    
+    @Test
+    public void jitterWithSeedIsReproducible() {
+        for (Jitter jitter : Jitter.values()) {
+            OfLong delays = longsFrom(100L).withJitter(jitter, 42L).limitMaxAttempts(10);
+            assertArrayEquals(jitter.name(), delays.build().toArray(), delays.build().toArray());
+            assertEquals(longsFrom(100L).limitMaxAttempts(10).buildConfig(), delays.buildConfig());
+        }
+    }
+    
     private static void assertFirstDelays(LongStream stream, long... delays) {
         assertNextDelays(stream.iterator(), delays);
     }
@@ -0,0 +1,101 @@
+package com.doctusoft.math;
+
+import com.doctusoft.java.AnException;
+import com.doctusoft.java.LambdAssert;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class TestHexadecimal {
+    
+    @Test
+    public void fixWidth() {
+        assertEquals("00000000", Hexadecimal.printFixWidth32bit(0));
+        assertEquals("deadbeef", Hexadecimal.printFixWidth32bit(0xDEADBEEF));
+        assertEquals("0000000000000001", Hexadecimal.printFixWidth64bit(1L));
+        assertEquals("ffffffffffffffff", Hexadecimal.printFixWidth64bit(-1L));
+        StringBuilder buf = new StringBuilder("0x");
+        Hexadecimal.appendFixWidth32bit(buf, 0x00C0FFEE);
+        assertEquals("0x00c0ffee", buf.toString());
+    }
+    
+    @Test
+    public void encodeBytes() {
+        byte[] bytes = new byte[256];
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < bytes.length; ++i) {
+            bytes[i] = (byte) i;
+            expected.append(String.format("%02x", i));
+        }
+        assertEquals(expected.toString(), Hexadecimal.printBytes(bytes));
+        
+        byte[] ascii = new byte[6];
+        Hexadecimal.encode(bytes, 254, 2, ascii, 1);
+        assertEquals("feff", new String(ascii, 1, 4, StandardCharsets.US_ASCII));
+        
+        ByteBuffer heap = ByteBuffer.allocate(8);
+        heap.put((byte) '#');
+        Hexadecimal.encode(bytes, 16, 3, heap);
+        assertEquals(7, heap.position());
+        assertEquals("#101112", new String(heap.array(), 0, 7, StandardCharsets.US_ASCII));
+        
+        ByteBuffer direct = ByteBuffer.allocateDirect(6);
+        Hexadecimal.encode(bytes, 171, 3, direct);
+        direct.flip();
+        byte[] read = new byte[6];
+        direct.get(read);
+        assertEquals("abacad", new String(read, StandardCharsets.US_ASCII));
+        
+        ByteBuffer littleEndian = ByteBuffer.allocateDirect(4).order(ByteOrder.LITTLE_ENDIAN);
+        Hexadecimal.encode(new byte[] { (byte) 0xab, 0x01 }, 0, 2, littleEndian);
+        littleEndian.flip();
+        littleEndian.get(read, 0, 4);
+        assertEquals("ab01", new String(read, 0, 4, StandardCharsets.US_ASCII));
+        ByteBuffer small = ByteBuffer.allocateDirect(5);
+        LambdAssert.assertThrows(() -> { Hexadecimal.encode(bytes, 0, 3, small); },
+            AnException.of(BufferOverflowException.class));
+        assertEquals(0, small.position());
+        
+        LambdAssert.assertThrows(() -> { Hexadecimal.encode(bytes, 255, 2, new char[4], 0); },
+            AnException.of(IndexOutOfBoundsException.class));
+        LambdAssert.assertThrows(() -> { Hexadecimal.encode(bytes, 0, 2, new char[3], 0); },
+            AnException.of(IndexOutOfBoundsException.class));
+    }
+    
+    @Test
+    public void encodeLongs() {
+        assertEquals("0123456789abcdef" + "ffffffffffffffff",
+            Hexadecimal.printLongs(new long[] { 0x0123456789ABCDEFL, -1L }));
+    }
+    
+    @Test
+    public void decodeRoundTrip() {
+        byte[] bytes = new byte[1000];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        String hex = Hexadecimal.printBytes(bytes);
+        assertArrayEquals(bytes, Hexadecimal.parseBytes(hex));
+        assertArrayEquals(bytes, Hexadecimal.parseBytes(hex.toUpperCase()));
+        byte[] decoded = new byte[2];
+        Hexadecimal.decode("x:CAFE", 2, 6, decoded, 0);
+        assertArrayEquals(new byte[] { (byte) 0xCA, (byte) 0xFE }, decoded);
+        Hexadecimal.decode("beef".getBytes(StandardCharsets.US_ASCII), 0, 4, decoded, 0);
+        assertArrayEquals(new byte[] { (byte) 0xBE, (byte) 0xEF }, decoded);
+    }
+    
+    @Test
+    public void decodeFailures() {
+        for (String invalid : new String[] { "abc", "0g", "g0", " 0", "0x00", "á00" }) {
+            LambdAssert.assertThrows(() -> { Hexadecimal.parseBytes(invalid); },
+                AnException.of(IllegalArgumentException.class));
+        }
+        LambdAssert.assertThrows(() -> { Hexadecimal.decode("0-".getBytes(StandardCharsets.US_ASCII), 0, 2,
+            new byte[1], 0); }, AnException.of(IllegalArgumentException.class));
+    }
+    
+}
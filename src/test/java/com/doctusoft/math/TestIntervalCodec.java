@@ -0,0 +1,120 @@
+package com.doctusoft.math;
+
+import com.doctusoft.java.AnException;
+import com.doctusoft.java.LambdAssert;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+public class TestIntervalCodec {
+    
+    private static final List<Interval<?>> INTERVALS = asList(
+        ClosedRange.create(-5, 17),
+        LeftClosedRange.create(Integer.MIN_VALUE, Integer.MAX_VALUE),
+        ClosedRange.create(Long.MIN_VALUE, Long.MAX_VALUE),
+        LeftClosedRange.create(1_500_000_000_000L, 1_500_000_086_400L),
+        IntClosedRange.singleValue(Integer.MAX_VALUE),
+        IntLeftClosedRange.create(-1, 0),
+        LongClosedRange.create(Long.MIN_VALUE, 0L),
+        LongLeftClosedRange.create(0L, Long.MAX_VALUE));
+    
+    @Test
+    public void roundTrip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        ByteBuffer buf = ByteBuffer.allocate(1024);
+        for (Interval<?> interval : INTERVALS) {
+            IntervalCodec.write(interval, out);
+            IntervalCodec.write(interval, buf);
+        }
+        assertArrayEquals(bytes.toByteArray(), Arrays.copyOf(buf.array(), buf.position()));
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        buf.flip();
+        for (Interval<?> interval : INTERVALS) {
+            Interval<?> read = IntervalCodec.read(in);
+            assertEquals(interval, read);
+            assertEquals(interval.getClass(), read.getClass());
+            assertEquals(interval, IntervalCodec.read(buf));
+        }
+        assertEquals(-1, in.read());
+        assertFalse(buf.hasRemaining());
+    }
+    
+    @Test
+    public void compactSingleRange() {
+        ByteBuffer buf = ByteBuffer.allocate(32);
+        IntervalCodec.write(ClosedRange.create(4, 17), buf);
+        assertEquals(3, buf.position());
+    }
+    
+    @Test
+    public void unsupported() {
+        assertFalse(IntervalCodec.isSupported(ClosedRange.create("A", "B")));
+        assertFalse(IntervalCodec.isSupported(ClosedRange.create(LocalDate.MIN, LocalDate.MAX)));
+        LambdAssert.assertThrows(() -> IntervalCodec.write(ClosedRange.create("A", "B"), ByteBuffer.allocate(32)),
+            AnException.of(IllegalArgumentException.class));
+        LambdAssert.assertThrows(() -> IntervalCodec.read(ByteBuffer.wrap(new byte[] { 8, 0, 0 })),
+            AnException.of(IllegalArgumentException.class));
+        LambdAssert.assertThrows(() -> IntervalCodec.read(new DataInputStream(new ByteArrayInputStream(new byte[] { 1, 0, 0 }))),
+            AnException.of(StreamCorruptedException.class));
+    }
+    
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void longRanges() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Interval<Long>> ranges = new ArrayList<>();
+        long lowerBound = 1_500_000_000_000L;
+        for (int i = 0; i < 1000; ++i) {
+            long upperBound = lowerBound + 1L + random.nextLong(60L);
+            ranges.add(random.nextBoolean() ? ClosedRange.create(lowerBound, upperBound) : LeftClosedRange.create(lowerBound, upperBound));
+            lowerBound = upperBound + 1L + random.nextLong(60L);
+        }
+        ranges.add(ClosedRange.create(Long.MIN_VALUE, Long.MAX_VALUE));
+        ranges.add(LeftClosedRange.create(Long.MIN_VALUE, Long.MAX_VALUE));
+        ranges.add(LongClosedRange.create(-1L, 1L));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IntervalCodec.writeLongRanges(ranges, new DataOutputStream(bytes));
+        assertTrue("too large: " + bytes.size(), bytes.size() < 2 * ranges.size() + 64);
+        List<Interval<Long>> read = IntervalCodec.readLongRanges(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        ranges.set(ranges.size() - 1, ClosedRange.create(-1L, 1L));
+        assertEquals(ranges, read);
+        ByteBuffer buf = ByteBuffer.allocate(bytes.size());
+        IntervalCodec.writeLongRanges(ranges, buf);
+        assertArrayEquals(bytes.toByteArray(), buf.array());
+        buf.flip();
+        assertEquals(ranges, IntervalCodec.readLongRanges(buf));
+        List ints = asList(ClosedRange.create(1, 2));
+        LambdAssert.assertThrows(() -> IntervalCodec.writeLongRanges((List<Interval<Long>>) ints, ByteBuffer.allocate(32)),
+            AnException.of(IllegalArgumentException.class));
+    }
+    
+    @Test
+    public void serializationProxy() throws Exception {
+        for (Interval<?> interval : INTERVALS) {
+            byte[] serialized = serialize(interval);
+            Object deserialized = new ObjectInputStream(new ByteArrayInputStream(serialized)).readObject();
+            assertEquals(interval, deserialized);
+            assertEquals(interval.getClass(), deserialized.getClass());
+            assertTrue("too large: " + serialized.length, serialized.length < 100);
+        }
+        ClosedRange<String> strings = ClosedRange.create("A", "B");
+        assertEquals(strings, new ObjectInputStream(new ByteArrayInputStream(serialize(strings))).readObject());
+    }
+    
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+    
+}
@@ -4,8 +4,14 @@ import com.doctusoft.java.AnException;
 import com.doctusoft.java.LambdAssert;
 import org.junit.Test;
 
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.stream.*;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.*;
 
@@ -61,4 +67,106 @@ public class TestLeftClosedRange {
         assertThat(range.getUpperBound(), equalTo("B"));
     }
     
+    @Test
+    public void intLeftClosedRange() {
+        IntLeftClosedRange range = IntLeftClosedRange.create(-3, 5);
+        assertTrue(range.contains(-3));
+        assertFalse(range.contains(5));
+        assertEquals(8L, range.size());
+        assertEquals(range, IntLeftClosedRange.parse(range.toString()));
+        assertEquals(range.toLeftClosedRange().toString(), range.toString());
+        assertEquals(range.toLeftClosedRange().hashCode(), range.hashCode());
+        assertEquals(range, IntLeftClosedRange.from(range.toLeftClosedRange()));
+        assertEquals(IntLeftClosedRange.create(4, 5), range.intersection(IntLeftClosedRange.create(4, 9)));
+        LambdAssert.assertThrows(() -> range.intersection(IntLeftClosedRange.create(5, 9)), AnException.of(IllegalArgumentException.class));
+        LambdAssert.assertThrows(() -> IntLeftClosedRange.create(5, 5), AnException.of(IllegalArgumentException.class));
+    }
+    
+    @Test
+    public void longLeftClosedRange() {
+        LongLeftClosedRange range = LongLeftClosedRange.create(-3L, 5L);
+        assertTrue(range.contains(4L));
+        assertFalse(range.contains(5L));
+        assertEquals(8L, range.size());
+        assertEquals(range, LongLeftClosedRange.parse(range.toString()));
+        assertEquals(range.toLeftClosedRange().hashCode(), range.hashCode());
+        LambdAssert.assertThrows(() -> { LongLeftClosedRange.create(-1L, Long.MAX_VALUE).size(); }, AnException.of(ArithmeticException.class));
+    }
+    
+    @Test
+    public void countLongs() {
+        assertEquals(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE), LeftClosedRange.countLongs(LeftClosedRange.create(Long.MIN_VALUE, Long.MAX_VALUE)));
+        assertEquals(BigInteger.TEN, LeftClosedRange.countLongs(LeftClosedRange.create(-5L, 5L)));
+    }
+    
+    @Test
+    public void intElementsSet() {
+        LeftClosedRange.IntElementsSet set = new LeftClosedRange.IntElementsSet(LeftClosedRange.create(-3, 5));
+        assertEquals(8, set.size());
+        assertEquals(IntStream.range(-3, -3 + 8).boxed().collect(Collectors.toList()), new ArrayList<>(set));
+        assertEquals(8, set.intStream().count());
+        assertEquals(set, set.stream().parallel().collect(Collectors.toSet()));
+        Spliterator.OfInt spliterator = set.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.DISTINCT | Spliterator.SORTED));
+        assertEquals(8, spliterator.getExactSizeIfKnown());
+        assertNotNull(spliterator.trySplit());
+        PrimitiveIterator.OfInt iterator = set.iterator();
+        assertEquals(-3, iterator.nextInt());
+        int[] sum = { 0 };
+        iterator.forEachRemaining((int value) -> sum[0] += value);
+        assertEquals(IntStream.range(-3 + 1, -3 + 8).sum(), sum[0]);
+        assertFalse(iterator.hasNext());
+        LambdAssert.assertThrows(() -> { iterator.nextInt(); }, AnException.of(NoSuchElementException.class));
+        assertTrue(set.contains(-3));
+        assertEquals(false, set.contains(5));
+        assertFalse(set.contains(-3L));
+    }
+    
+    @Test
+    public void longElementsSet() {
+        LeftClosedRange.LongElementsSet set = new LeftClosedRange.LongElementsSet(LeftClosedRange.create(Long.MAX_VALUE - 10L, Long.MAX_VALUE));
+        assertEquals(10, set.size());
+        assertEquals(set.size(), set.longStream().count());
+        assertEquals(set.size(), set.stream().parallel().distinct().count());
+        assertEquals(Long.MAX_VALUE - 10L, set.iterator().nextLong());
+        List<Long> elements = new ArrayList<>();
+        set.forEach(elements::add);
+        assertEquals(set.longStream().boxed().collect(Collectors.toList()), elements);
+        assertEquals(false, set.contains(Long.MAX_VALUE));
+    }
+    
+    @Test
+    public void split() {
+        assertEquals(asList(LeftClosedRange.create(0L, 4L), LeftClosedRange.create(4L, 7L), LeftClosedRange.create(7L, 10L)),
+            LeftClosedRange.split(LeftClosedRange.create(0L, 10L), 3));
+        List<LeftClosedRange<Long>> pieces = LeftClosedRange.split(LeftClosedRange.create(Long.MIN_VALUE, Long.MAX_VALUE), 3);
+        assertEquals(3, pieces.size());
+        assertEquals(Long.MIN_VALUE, pieces.get(0).getLowerBound().longValue());
+        assertEquals(pieces.get(0).getUpperBound(), pieces.get(1).getLowerBound());
+        assertEquals(pieces.get(1).getUpperBound(), pieces.get(2).getLowerBound());
+        assertEquals(Long.MAX_VALUE, pieces.get(2).getUpperBound().longValue());
+    }
+    
+    @Test
+    public void chunks() {
+        assertEquals(asList(LeftClosedRange.create(0L, 4L), LeftClosedRange.create(4L, 8L), LeftClosedRange.create(8L, 10L)),
+            LeftClosedRange.chunks(LeftClosedRange.create(0L, 10L), 4L));
+        assertEquals(asList(LeftClosedRange.create(Long.MAX_VALUE - 1L, Long.MAX_VALUE)),
+            LeftClosedRange.chunks(LeftClosedRange.create(Long.MAX_VALUE - 1L, Long.MAX_VALUE), 4L));
+        assertEquals(10L, LeftClosedRange.chunkSpliterator(LeftClosedRange.create(0L, 100L), 10L).getExactSizeIfKnown());
+    }
+    
+    @Test
+    public void parseSlice() {
+        String row = "[1; 5);[2020-01-01; 2021-01-01)";
+        assertEquals(IntLeftClosedRange.create(1, 5), IntLeftClosedRange.parse(row, 0, 6));
+        assertEquals(LongLeftClosedRange.create(1L, 5L), LongLeftClosedRange.parse(row, 0, 6));
+        assertEquals(LeftClosedRange.create(LocalDate.of(2020, 1, 1), LocalDate.of(2021, 1, 1)),
+            LeftClosedRange.parse(row, 7, row.length(), Interval.BoundParser.localDates()));
+        LambdAssert.assertThrows(() -> LeftClosedRange.parse(row, 0, 6, Interval.BoundParser.localDates()),
+            AnException.of(DateTimeException.class));
+        LambdAssert.assertThrows(() -> IntLeftClosedRange.parse("[1; 5]"), AnException.of(IllegalArgumentException.class));
+        LambdAssert.assertThrows(() -> IntLeftClosedRange.parse("[5; 5)"), AnException.of(IllegalArgumentException.class));
+    }
+    
 }
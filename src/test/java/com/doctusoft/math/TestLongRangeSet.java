@@ -0,0 +1,92 @@
+package com.doctusoft.math;
+
+import com.doctusoft.java.AnException;
+import com.doctusoft.java.LambdAssert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static java.util.Arrays.*;
+import static org.junit.Assert.*;
+
+public class TestLongRangeSet {
+    
+    private static final int DOMAIN = 200;
+    
+    @Test
+    public void normalize() {
+        LongRangeSet set = LongRangeSet.of(asList(
+            ClosedRange.create(7L, 9L), ClosedRange.create(1L, 3L), ClosedRange.create(4L, 5L), ClosedRange.create(2L, 2L)));
+        assertEquals("{[1; 5], [7; 9]}", set.toString());
+        assertEquals(2, set.rangeCount());
+        assertTrue(set.contains(1L));
+        assertTrue(set.contains(5L));
+        assertFalse(set.contains(6L));
+        assertFalse(set.contains(0L));
+        assertTrue(set.encloses(2L, 5L));
+        assertFalse(set.encloses(4L, 7L));
+        assertEquals(LongClosedRange.create(1L, 9L), set.span());
+        assertEquals(asList(LongClosedRange.create(1L, 5L), LongClosedRange.create(7L, 9L)), set.asRanges());
+        LambdAssert.assertThrows(() -> LongRangeSet.of(2L, 1L), AnException.of(IllegalArgumentException.class));
+    }
+    
+    @Test
+    public void fullDomain() {
+        LongRangeSet full = LongRangeSet.of(Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(LongRangeSet.empty(), full.complement());
+        assertEquals(full, LongRangeSet.empty().complement());
+        LongRangeSet middle = LongRangeSet.of(-1L, 1L);
+        assertEquals(LongRangeSet.builder().add(Long.MIN_VALUE, -2L).add(2L, Long.MAX_VALUE).build(), middle.complement());
+        assertEquals(full, middle.union(middle.complement()));
+        assertEquals(LongRangeSet.empty(), middle.intersection(middle.complement()));
+    }
+    
+    @Test
+    public void randomOperations() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int round = 0; round < 200; ++round) {
+            BitSet bits1 = new BitSet();
+            BitSet bits2 = new BitSet();
+            LongRangeSet set1 = randomSet(random, bits1);
+            LongRangeSet set2 = randomSet(random, bits2);
+            assertEquals(bits1, toBits(set1));
+            BitSet union = (BitSet) bits1.clone();
+            union.or(bits2);
+            assertEquals(union, toBits(set1.union(set2)));
+            BitSet intersection = (BitSet) bits1.clone();
+            intersection.and(bits2);
+            assertEquals(intersection, toBits(set1.intersection(set2)));
+            BitSet difference = (BitSet) bits1.clone();
+            difference.andNot(bits2);
+            assertEquals(difference, toBits(set1.difference(set2)));
+            assertEquals(set1.union(set2), LongRangeSet.builder().addAll(set2).addAll(set1).build());
+            for (int i = 0; i < DOMAIN; ++i) {
+                assertEquals(bits1.get(i), set1.contains(i));
+            }
+        }
+    }
+    
+    private static LongRangeSet randomSet(ThreadLocalRandom random, BitSet bits) {
+        LongRangeSet.Builder builder = LongRangeSet.builder();
+        for (int i = random.nextInt(20); i > 0; --i) {
+            int lowerBound = random.nextInt(DOMAIN);
+            int upperBound = Math.min(DOMAIN - 1, lowerBound + random.nextInt(15));
+            builder.add(lowerBound, upperBound);
+            bits.set(lowerBound, upperBound + 1);
+        }
+        return builder.build();
+    }
+    
+    private static BitSet toBits(LongRangeSet set) {
+        BitSet bits = new BitSet();
+        for (LongClosedRange range : set.asRanges()) {
+            bits.set((int) range.getLowerBound(), (int) range.getUpperBound() + 1);
+        }
+        for (int i = 1; i < set.rangeCount(); ++i) {
+            assertTrue("not normalized: " + set, set.getRange(i - 1).getUpperBound() + 1 < set.getRange(i).getLowerBound());
+        }
+        return bits;
+    }
+    
+}
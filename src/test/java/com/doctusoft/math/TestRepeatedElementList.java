@@ -0,0 +1,52 @@
+package com.doctusoft.math;
+
+import com.doctusoft.java.AnException;
+import com.doctusoft.java.LambdAssert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.*;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+public class TestRepeatedElementList {
+    
+    @Test
+    public void sameAsCopies() {
+        for (int size : new int[] { 1, 2, 3, 7, 64, 1000, 12345 }) {
+            RepeatedElementList<String> list = new RepeatedElementList<>("x", size);
+            List<String> copies = new ArrayList<>(Collections.nCopies(size, "x"));
+            assertEquals(copies.hashCode(), list.hashCode());
+            assertEquals(copies, list);
+            assertEquals(list, copies);
+            assertArrayEquals(copies.toArray(), list.toArray());
+            assertArrayEquals(copies.toArray(new String[0]), list.toArray(new String[0]));
+            assertEquals(copies, list.stream().parallel().collect(Collectors.toList()));
+            assertEquals(size - 1, list.lastIndexOf("x"));
+        }
+    }
+    
+    @Test
+    public void fastPaths() {
+        RepeatedElementList<String> list = new RepeatedElementList<>("x", 10_000_000);
+        assertEquals(0, list.indexOf("x"));
+        assertEquals(-1, list.indexOf("y"));
+        assertEquals(-1, list.lastIndexOf(null));
+        assertEquals(new RepeatedElementList<>("x", 5_000_000), list.subList(2_500_000, 7_500_000));
+        assertEquals(asList("x"), list.subList(5, 6));
+        assertTrue(list.subList(5, 5).isEmpty());
+        assertNotEquals(new RepeatedElementList<>("x", 9_999_999), list);
+        assertEquals(10_000_000L, list.parallelStream().count());
+        Spliterator<String> spliterator = list.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(5_000_000L, spliterator.trySplit().getExactSizeIfKnown());
+        assertEquals(5_000_000L, spliterator.getExactSizeIfKnown());
+        String[] array = { "a", "b", "c", "d" };
+        assertSame(array, new RepeatedElementList<>("x", 2).toArray(array));
+        assertArrayEquals(new String[] { "x", "x", null, "d" }, array);
+        LambdAssert.assertThrows(() -> list.subList(-1, 5), AnException.of(IndexOutOfBoundsException.class));
+        LambdAssert.assertThrows(() -> list.subList(6, 5), AnException.of(IllegalArgumentException.class));
+    }
+    
+}
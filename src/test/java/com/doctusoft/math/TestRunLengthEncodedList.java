@@ -0,0 +1,80 @@
+package com.doctusoft.math;
+
+import com.doctusoft.java.AnException;
+import com.doctusoft.java.LambdAssert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+public class TestRunLengthEncodedList {
+    
+    @Test
+    public void mergeNeighbours() {
+        RunLengthEncodedList<String> list = RunLengthEncodedList.<String> builder()
+            .add("a").add("a").addRun("b", 3).addRun("c", 0).addAll(new RepeatedElementList<>("b", 2)).add("a")
+            .build();
+        assertEquals(asList("a", "a", "b", "b", "b", "b", "b", "a"), list);
+        assertEquals(3, list.runCount());
+        assertEquals(asList(new RepeatedElementList<>("a", 2), new RepeatedElementList<>("b", 5), new RepeatedElementList<>("a", 1)),
+            list.runs());
+        assertEquals(0, list.indexOf("a"));
+        assertEquals(7, list.lastIndexOf("a"));
+        assertEquals(2, list.indexOf("b"));
+        assertEquals(-1, list.indexOf("c"));
+        assertFalse(list.contains(null));
+        assertEquals(list, RunLengthEncodedList.copyOf(new ArrayList<>(list)));
+        assertEquals(list.hashCode(), new ArrayList<>(list).hashCode());
+        LambdAssert.assertThrows(() -> list.get(8), AnException.of(IndexOutOfBoundsException.class));
+        LambdAssert.assertThrows(() -> list.get(-1), AnException.of(IndexOutOfBoundsException.class));
+        LambdAssert.assertThrows(() -> { list.set(0, "x"); }, AnException.of(UnsupportedOperationException.class));
+    }
+    
+    @Test
+    public void empty() {
+        RunLengthEncodedList<String> list = RunLengthEncodedList.copyOf(Collections.emptyList());
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.runCount());
+        assertFalse(list.iterator().hasNext());
+        assertEquals(0L, list.stream().count());
+    }
+    
+    @Test
+    public void random() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Integer> expected = new ArrayList<>();
+        RunLengthEncodedList.Builder<Integer> builder = RunLengthEncodedList.builder();
+        for (int i = 0; i < 500; ++i) {
+            int value = random.nextInt(4);
+            int length = random.nextInt(50);
+            builder.addRun(value, length);
+            expected.addAll(Collections.nCopies(length, value));
+        }
+        RunLengthEncodedList<Integer> list = builder.build();
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+        assertEquals(expected, new ArrayList<>(list));
+        List<Integer> forEach = new ArrayList<>();
+        list.forEach(forEach::add);
+        assertEquals(expected, forEach);
+        assertEquals(expected, list.stream().parallel().collect(Collectors.toList()));
+        assertEquals(expected.stream().mapToLong(Integer::longValue).sum(), list.parallelStream().mapToLong(Integer::longValue).sum());
+        Spliterator<Integer> spliterator = list.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertTrue(spliterator.tryAdvance(value -> assertEquals(expected.get(0), value)));
+        List<Integer> rest = new ArrayList<>();
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        prefix.forEachRemaining(rest::add);
+        while (spliterator.tryAdvance(rest::add)) {
+            // collecting the suffix one by one
+        }
+        assertEquals(expected.subList(1, expected.size()), rest);
+    }
+    
+}